@@ -0,0 +1,47 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.MovieType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OMDb answers shaped like real ones: a full search page and a movie with every detail set.
+ */
+final class BenchmarkData {
+
+    static final String POSTER = "https://m.media-amazon.com/images/M/MV5BNzQzOTk3OTAtNDQ0Zi00ZTVkLWI0MTEtMDllZjNkYzNjNTc4L2ltYWdlXkEyXkFqcGdeQXVyNjU0OTQ0OTY@._V1_SX300.jpg";
+
+    private BenchmarkData() {
+    }
+
+    // Ten results, OMDb's page size, with ids "<idPrefix>0" to "<idPrefix>9"
+    static MovieSearchResponseDto searchPage(String idPrefix) {
+        List<MovieListItemDto> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(new MovieListItemDto("The Matrix Part " + i, "1999–2003", idPrefix + i, MovieType.movie, POSTER));
+        }
+        return new MovieSearchResponseDto(movies, "123", "True");
+    }
+
+    static MovieDetailDto movieDetail(String imdbId) {
+        MovieDetailDto movieDetail = new MovieDetailDto();
+        movieDetail.setTitle("The Matrix");
+        movieDetail.setYear("1999");
+        movieDetail.setImdbID(imdbId);
+        movieDetail.setType(MovieType.movie);
+        movieDetail.setPoster(POSTER);
+        movieDetail.setPlot("When a beautiful stranger leads computer hacker Neo to a forbidding underworld, "
+                + "he discovers the shocking truth--the life he knows is the elaborate deception of an evil cyber-intelligence.");
+        movieDetail.setDirector("Lana Wachowski, Lilly Wachowski");
+        movieDetail.setActors("Keanu Reeves, Laurence Fishburne, Carrie-Anne Moss");
+        movieDetail.setRuntime("136 min");
+        movieDetail.setGenre("Action, Sci-Fi");
+        movieDetail.setImdbRating("8.7");
+        movieDetail.setResponse("True");
+        return movieDetail;
+    }
+}
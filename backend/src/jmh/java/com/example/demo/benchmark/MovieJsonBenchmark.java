@@ -0,0 +1,77 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the two DTOs every response and shared cache entry goes
+ * through, with an ObjectMapper configured the way Spring Boot configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader detailReader;
+    private ObjectReader searchReader;
+
+    private MovieDetailDto movieDetail;
+    private MovieSearchResponseDto searchPage;
+
+    private byte[] movieDetailJson;
+    private byte[] searchPageJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+        detailReader = objectMapper.readerFor(MovieDetailDto.class);
+        searchReader = objectMapper.readerFor(MovieSearchResponseDto.class);
+
+        movieDetail = BenchmarkData.movieDetail("tt0133093");
+        searchPage = BenchmarkData.searchPage("tt013376");
+        movieDetailJson = writer.writeValueAsBytes(movieDetail);
+        searchPageJson = writer.writeValueAsBytes(searchPage);
+    }
+
+    @Benchmark
+    public byte[] writeMovieDetail() throws IOException {
+        return writer.writeValueAsBytes(movieDetail);
+    }
+
+    @Benchmark
+    public MovieDetailDto readMovieDetail() throws IOException {
+        return detailReader.readValue(movieDetailJson);
+    }
+
+    @Benchmark
+    public byte[] writeSearchPage() throws IOException {
+        return writer.writeValueAsBytes(searchPage);
+    }
+
+    @Benchmark
+    public MovieSearchResponseDto readSearchPage() throws IOException {
+        return searchReader.readValue(searchPageJson);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.repository.MovieRepository;
+import com.example.demo.service.MovieCacheWriter;
+import com.example.demo.service.MovieDetailCache;
+import com.example.demo.service.MovieService;
+import com.example.demo.service.MovieWriteBehind;
+import com.example.demo.service.OmdbApiService;
+import com.example.demo.service.OmdbJsonDecoder;
+import com.example.demo.service.OmdbPriority;
+import com.example.demo.service.OmdbQuota;
+import com.example.demo.service.SearchQueryKey;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MovieService's stored-data paths against the real schema: a search page and a movie's
+ * details read from Postgres and turned into DTOs (findPageRows then toCachedPage, findById
+ * then convertToDetailDto), and a search page written back through MovieCacheWriter, which
+ * replaces the stored page each time. Postgres is an embedded instance started for the run,
+ * OMDb a stub answering from memory and the shared cache tier is off; each lookup drops the
+ * near-cache copy the previous one left, so it reaches the database again. Run with -prof gc
+ * for the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MovieServiceBenchmark {
+
+    private static final String SEARCH_TEXT = "the matrix";
+    private static final String IMDB_ID = "tt0133093";
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+
+    private MovieService movieService;
+    private MovieCacheWriter movieCacheWriter;
+    private MovieDetailCache movieDetailCache;
+    private Cache searchPages;
+
+    private SearchQueryKey searchKey;
+    private MovieSearchResponseDto searchPage;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        postgres = EmbeddedPostgres.start();
+        // Arguments, so they win over application.properties
+        context = new SpringApplicationBuilder(DemoApplication.class, StubOmdbConfig.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        // The stub replaces the scanned OmdbApiService bean of the same name
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--cache.shared.enabled=false",
+                        "--search.prefetch-next-page=false",
+                        "--logging.level.com.example.demo=WARN",
+                        "--logging.level.org.springframework.boot.devtools=WARN");
+
+        movieService = context.getBean(MovieService.class);
+        movieCacheWriter = context.getBean(MovieCacheWriter.class);
+        movieDetailCache = context.getBean(MovieDetailCache.class);
+        searchPages = context.getBean(CacheManager.class).getCache(CacheConfig.SEARCH_PAGES);
+        searchKey = SearchQueryKey.of(SEARCH_TEXT, 1);
+        searchPage = BenchmarkData.searchPage("tt013376");
+
+        // Store the page and the movie the way a first request would: the stub answers
+        // and the write-behind stage persists, then wait until both are in the database
+        movieService.searchMovies(SEARCH_TEXT, 1).block();
+        movieService.getMovieById(IMDB_ID).block();
+        MovieWriteBehind movieWriteBehind = context.getBean(MovieWriteBehind.class);
+        MovieRepository movieRepository = context.getBean(MovieRepository.class);
+        while (movieWriteBehind.getPendingSearch(searchKey) != null
+                || movieRepository.findById(IMDB_ID).map(movie -> movie.getDetailsUpdatedAt() == null).orElse(true)) {
+            Thread.sleep(50);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public MovieSearchResponseDto storedSearchPage() {
+        searchPages.evict(searchKey);
+        return movieService.searchMovies(SEARCH_TEXT, 1).block();
+    }
+
+    @Benchmark
+    public MovieDetailDto storedMovieDetail() {
+        movieDetailCache.evict(IMDB_ID);
+        return movieService.getMovieById(IMDB_ID).block();
+    }
+
+    @Benchmark
+    public Set<String> writeSearchPage() {
+        return movieCacheWriter.write(Map.of(searchKey, searchPage), Map.of());
+    }
+
+    // Not a @Configuration, so the application's component scan doesn't pick it up
+    static class StubOmdbConfig {
+
+        @Bean
+        OmdbApiService omdbApiService(WebClient omdbWebClient,
+                                      BulkheadRegistry bulkheadRegistry,
+                                      CircuitBreakerRegistry circuitBreakerRegistry,
+                                      RetryRegistry retryRegistry,
+                                      OmdbQuota omdbQuota,
+                                      OmdbJsonDecoder omdbJsonDecoder,
+                                      MeterRegistry meterRegistry) {
+            return new OmdbApiService(omdbWebClient, bulkheadRegistry, circuitBreakerRegistry, retryRegistry,
+                    omdbQuota, omdbJsonDecoder, meterRegistry, "http://omdb.invalid/", "benchmark") {
+
+                @Override
+                public Mono<MovieSearchResponseDto> searchMovies(String searchText, int page, OmdbPriority priority) {
+                    return Mono.fromSupplier(() -> BenchmarkData.searchPage("tt013376"));
+                }
+
+                @Override
+                public Mono<MovieDetailDto> getMovieById(String imdbId, OmdbPriority priority) {
+                    return Mono.fromSupplier(() -> BenchmarkData.movieDetail(imdbId));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.Movie;
+import com.example.demo.service.OmdbJsonDecoder;
+import com.example.demo.service.OmdbValues;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one OMDb search page into Movie rows: WebClient's default Jackson decoder plus
+ * the trimming copy MovieCacheWriter used to do, against the one-pass OmdbJsonDecoder.
+ * Run with -prof gc to compare the allocation rate per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OmdbDecodeBenchmark {
+
+    private static final ResolvableType SEARCH_TYPE = ResolvableType.forClass(MovieSearchResponseDto.class);
+
+    // How many network buffers the body arrives in
+    @Param({"1", "4"})
+    public int chunks;
+
+    private final Jackson2JsonDecoder jacksonDecoder = new Jackson2JsonDecoder();
+    private final OmdbJsonDecoder omdbJsonDecoder = new OmdbJsonDecoder();
+
+    private byte[][] body;
+
+    @Setup
+    public void setUp() {
+        StringBuilder json = new StringBuilder("{\"Search\":[");
+        for (int i = 0; i < 10; i++) {
+            json.append(i > 0 ? "," : "")
+                    .append("{\"Title\":\" The Matrix Part ").append(i).append(" \",")
+                    .append("\"Year\":\"1999–2003 \",")
+                    .append("\"imdbID\":\" tt013376").append(i).append("\",")
+                    .append("\"Type\":\"movie\",")
+                    .append("\"Poster\":\"https://m.media-amazon.com/images/M/MV5BNzQzOTk3OTAtNDQ0Zi00ZTVkLWI0MTEtMDllZjNkYzNjNTc4L2ltYWdlXkEyXkFqcGdeQXVyNjU0OTQ0OTY@._V1_SX300.jpg\"}");
+        }
+        json.append("],\"totalResults\":\"123\",\"Response\":\"True\"}");
+
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        body = new byte[chunks][];
+        int size = (bytes.length + chunks - 1) / chunks;
+        for (int i = 0; i < chunks; i++) {
+            body[i] = Arrays.copyOfRange(bytes, i * size, Math.min(bytes.length, (i + 1) * size));
+        }
+    }
+
+    @Benchmark
+    public List<Movie> databindThenTrim() {
+        MovieSearchResponseDto response = (MovieSearchResponseDto) jacksonDecoder
+                .decodeToMono(buffers(), SEARCH_TYPE, null, Map.of())
+                .block();
+
+        List<Movie> movies = new ArrayList<>();
+        for (MovieListItemDto item : response.getSearch()) {
+            if (item.getImdbID() == null || item.getImdbID().trim().isEmpty() ||
+                    item.getTitle() == null || item.getTitle().trim().isEmpty()) {
+                continue;
+            }
+            OmdbValues.YearRange year = OmdbValues.parseYear(item.getYear() != null ? item.getYear().trim() : null);
+            movies.add(new Movie(
+                    item.getImdbID().trim(),
+                    item.getTitle().trim(),
+                    year.start(),
+                    year.end(),
+                    item.getType(),
+                    item.getPoster() != null ? item.getPoster().trim() : ""));
+        }
+        return movies;
+    }
+
+    @Benchmark
+    public List<Movie> streamingDecode() {
+        MovieSearchResponseDto response = omdbJsonDecoder.decodeSearch(buffers()).block();
+
+        List<Movie> movies = new ArrayList<>();
+        for (MovieListItemDto item : response.getSearch()) {
+            OmdbValues.YearRange year = OmdbValues.parseYear(item.getYear());
+            movies.add(new Movie(
+                    item.getImdbID(),
+                    item.getTitle(),
+                    year.start(),
+                    year.end(),
+                    item.getType(),
+                    item.getPoster() != null ? item.getPoster() : ""));
+        }
+        return movies;
+    }
+
+    private Flux<DataBuffer> buffers() {
+        return Flux.fromArray(body).map(DefaultDataBufferFactory.sharedInstance::wrap);
+    }
+}
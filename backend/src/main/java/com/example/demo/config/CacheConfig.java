@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIE_DETAILS = "movieDetails";
+    public static final String NEGATIVE_RESULTS = "negativeResults";
+    public static final String SEARCH_PAGES = "searchPages";
+
+    @Value("${cache.movie-details.max-size:10000}")
+    private long movieDetailsMaxSize;
+
+    @Value("${cache.movie-details.ttl:10m}")
+    private Duration movieDetailsTtl;
+
+    @Value("${cache.search-pages.max-size:10000}")
+    private long searchPagesMaxSize;
+
+    @Value("${cache.search-pages.ttl:1m}")
+    private Duration searchPagesTtl;
+
+    @Value("${cache.negative.max-size:10000}")
+    private long negativeMaxSize;
+
+    @Value("${cache.negative.ttl:10m}")
+    private Duration negativeTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // L1 (heap) tier in front of the movies table, bounded by entry count and age
+        cacheManager.registerCustomCache(MOVIE_DETAILS, Caffeine.newBuilder()
+                .maximumSize(movieDetailsMaxSize)
+                .expireAfterWrite(movieDetailsTtl)
+                .recordStats()
+                .build());
+
+        // Near-cache of search pages in front of the shared tier, kept short since another
+        // node may refresh a page and its invalidation message can be lost
+        cacheManager.registerCustomCache(SEARCH_PAGES, Caffeine.newBuilder()
+                .maximumSize(searchPagesMaxSize)
+                .expireAfterWrite(searchPagesTtl)
+                .recordStats()
+                .build());
+
+        // "Not found" answers from OMDb, kept briefly so a title added upstream shows up soon
+        cacheManager.registerCustomCache(NEGATIVE_RESULTS, Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build());
+
+        return cacheManager;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Function;
+
+@Configuration
+public class OmdbClientConfig {
+
+    @Value("${omdb.api.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${omdb.api.response-timeout:3s}")
+    private Duration responseTimeout;
+
+    @Value("${omdb.api.compression:true}")
+    private boolean compression;
+
+    // HTTP11 by default, H2 needs an https omdb.api.url
+    @Value("${omdb.api.protocols:HTTP11}")
+    private HttpProtocol[] protocols;
+
+    @Value("${omdb.api.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${omdb.api.pool.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${omdb.api.pool.pending-acquire-timeout:2s}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${omdb.api.pool.max-idle-time:30s}")
+    private Duration maxIdleTime;
+
+    @Value("${omdb.api.pool.max-life-time:10m}")
+    private Duration maxLifeTime;
+
+    @Value("${omdb.api.pool.evict-in-background:30s}")
+    private Duration evictInBackground;
+
+    // Keeps OMDb connections warm between misses, idle ones are closed before the server drops them
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider omdbConnectionProvider() {
+        return ConnectionProvider.builder("omdb")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .lifo()
+                // reactor.netty.connection.provider.{total,active,idle,pending}.connections
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient omdbWebClient(WebClient.Builder webClientBuilder, ConnectionProvider omdbConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(omdbConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                .responseTimeout(responseTimeout)
+                .compress(compression)
+                .protocol(protocols);
+
+        if (Arrays.asList(protocols).contains(HttpProtocol.H2)) {
+            httpClient = httpClient.secure();
+        }
+
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class SchedulerConfig {
+
+    @Value("${jdbc.scheduler.thread-cap:10}")
+    private int jdbcThreadCap;
+
+    @Value("${jdbc.scheduler.queued-task-cap:1000}")
+    private int jdbcQueuedTaskCap;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    // Blocking JPA work is offloaded here so request and Netty threads never wait on the database
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jdbcScheduler(MeterRegistry meterRegistry) {
+        if (virtualThreadsEnabled) {
+            // One virtual thread per task, the Hikari pool is what bounds concurrent JDBC work.
+            // Timed as executor{name=jdbc}, with executor.idle showing how long tasks wait to start
+            return Schedulers.fromExecutorService(
+                    ExecutorServiceMetrics.monitor(meterRegistry,
+                            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("jdbc-vt-", 0).factory()),
+                            "jdbc"),
+                    "jdbc");
+        }
+
+        return Schedulers.newBoundedElastic(jdbcThreadCap, jdbcQueuedTaskCap, "jdbc");
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JDK's virtual thread JFR events while virtual threads are enabled and logs
+ * carriers pinned by synchronized blocks or native frames, along with virtual threads the
+ * carrier pool failed to schedule. Both are counted in metrics, next to the size of the
+ * carrier pool they happened on.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadDiagnostics implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadDiagnostics.class);
+
+    private static final int LOGGED_FRAMES = 8;
+
+    @Value("${virtual-threads.pinning.threshold:20ms}")
+    private Duration pinningThreshold;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong submitFailedCount = new AtomicLong();
+
+    private RecordingStream recordingStream;
+
+    @Override
+    public void afterPropertiesSet() {
+        registerMeters();
+
+        recordingStream = new RecordingStream();
+        recordingStream.enable("jdk.VirtualThreadPinned").withThreshold(pinningThreshold).withStackTrace();
+        recordingStream.enable("jdk.VirtualThreadSubmitFailed").withStackTrace();
+        recordingStream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        recordingStream.onEvent("jdk.VirtualThreadSubmitFailed", this::onSubmitFailed);
+        recordingStream.startAsync();
+
+        log.info("Virtual thread diagnostics enabled, reporting pins longer than {}", pinningThreshold);
+    }
+
+    @Override
+    public void destroy() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        log.warn("Virtual thread pinned its carrier for {} ms:\n{}",
+                event.getDuration().toMillis(), formatStackTrace(event));
+    }
+
+    private void onSubmitFailed(RecordedEvent event) {
+        submitFailedCount.incrementAndGet();
+        log.error("Virtual thread could not be scheduled on a carrier: {}\n{}",
+                event.getString("exceptionMessage"), formatStackTrace(event));
+    }
+
+    private void registerMeters() {
+        FunctionCounter.builder("virtual-threads.pinned", pinnedCount, AtomicLong::get)
+                .description("Virtual threads that pinned their carrier for longer than the threshold")
+                .register(meterRegistry);
+        FunctionCounter.builder("virtual-threads.submit-failed", submitFailedCount, AtomicLong::get)
+                .description("Virtual threads the carrier pool failed to schedule")
+                .register(meterRegistry);
+
+        // JDK 21 doesn't expose the scheduler's live state, only the sizing it was started with
+        int parallelism = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        int maxPoolSize = Integer.getInteger("jdk.virtualThreadScheduler.maxPoolSize", Math.max(parallelism, 256));
+        carrierGauge("parallelism", parallelism);
+        carrierGauge("max", maxPoolSize);
+    }
+
+    private void carrierGauge(String limit, int carriers) {
+        Gauge.builder("virtual-threads.carriers", () -> carriers)
+                .description("Carrier threads of the virtual thread scheduler")
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+
+    private String formatStackTrace(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "    <no stack trace>";
+        }
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "    at " + frame.getMethod().getType().getName() + "."
+                        + frame.getMethod().getName() + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -1,64 +1,161 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.MovieBatchRequestDto;
+import com.example.demo.dto.MovieBatchResponseDto;
+import com.example.demo.dto.MovieBrowseResponseDto;
 import com.example.demo.dto.MovieDetailDto;
 import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.dto.SearchStreamEventDto;
+import com.example.demo.entity.MovieType;
+import com.example.demo.repository.MovieSort;
+import com.example.demo.service.MovieCatalogService;
 import com.example.demo.service.MovieService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/movies")
 @CrossOrigin(origins = "*")
 public class MovieController {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieController.class);
+
     @Autowired
     private MovieService movieService;
 
-    @GetMapping("/search")
-    public ResponseEntity<MovieSearchResponseDto> searchMovies(@RequestParam String q) {
-        if (q == null || q.trim().isEmpty()) {
-            return ResponseEntity.badRequest().build();
+    @Autowired
+    private MovieCatalogService movieCatalogService;
+
+    @Value("${movies.batch.max-ids:100}")
+    private int batchMaxIds;
+
+    @Value("${movies.browse.default-limit:20}")
+    private int browseDefaultLimit;
+
+    @Value("${movies.browse.max-limit:100}")
+    private int browseMaxLimit;
+
+    // Browses the stored catalog only, pages never reach OMDb
+    @GetMapping
+    public Mono<ResponseEntity<MovieBrowseResponseDto>> browseMovies(@RequestParam(required = false) MovieType type,
+                                                                     @RequestParam(required = false) String genre,
+                                                                     @RequestParam(required = false) Short yearFrom,
+                                                                     @RequestParam(required = false) Short yearTo,
+                                                                     @RequestParam(required = false) Double minRating,
+                                                                     @RequestParam(defaultValue = "title") String sort,
+                                                                     @RequestParam(required = false) String after,
+                                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = limit != null ? limit : browseDefaultLimit;
+        if (pageSize < 1 || pageSize > browseMaxLimit
+                || (yearFrom != null && yearTo != null && yearFrom > yearTo)
+                || (minRating != null && (minRating < 0 || minRating > 10))) {
+            return Mono.just(ResponseEntity.badRequest().build());
         }
 
+        MovieSort movieSort;
         try {
-            MovieSearchResponseDto response = movieService.searchMovies(q.trim());
+            movieSort = MovieSort.fromParam(sort);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        String genreFilter = genre != null && !genre.trim().isEmpty() ? genre.trim() : null;
+        Short minRatingX10 = minRating != null ? (short) Math.round(minRating * 10) : null;
+
+        return movieCatalogService.browse(type, genreFilter, yearFrom, yearTo, minRatingX10, movieSort, after, pageSize)
+                .map(ResponseEntity::ok)
+                // A cursor that doesn't decode, or belongs to another sort
+                .onErrorResume(IllegalArgumentException.class, e -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(e -> {
+                    // Log error and return server error
+                    log.error("Browsing the catalog failed", e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<MovieSearchResponseDto>> searchMovies(@RequestParam String q,
+                                                                     @RequestParam(defaultValue = "1") int page) {
+        if (q == null || q.trim().isEmpty() || page < 1 || page > MovieService.OMDB_MAX_PAGE) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
 
-            if (response != null) {
-                return ResponseEntity.ok(response);
-            } else {
+        return movieService.searchMovies(q.trim(), page)
+                .map(ResponseEntity::ok)
                 // Return empty response when API fails
-                MovieSearchResponseDto emptyResponse = new MovieSearchResponseDto();
-                emptyResponse.setResponse("False");
-                return ResponseEntity.ok(emptyResponse);
-            }
-        } catch (Exception e) {
-            // Log error and return empty response
-            e.printStackTrace();
-            MovieSearchResponseDto errorResponse = new MovieSearchResponseDto();
-            errorResponse.setResponse("False");
-            return ResponseEntity.ok(errorResponse);
+                .defaultIfEmpty(ResponseEntity.ok(falseResponse()))
+                .onErrorResume(e -> {
+                    // Log error and return empty response
+                    e.printStackTrace();
+                    return Mono.just(ResponseEntity.ok(falseResponse()));
+                });
+    }
+
+    // Same search, streamed as Server-Sent Events or NDJSON so the first matches show up early
+    @GetMapping(value = "/search/stream", produces = {MediaType.TEXT_EVENT_STREAM_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Flux<SearchStreamEventDto>> streamSearch(@RequestParam String q,
+                                                                   @RequestParam(defaultValue = "1") int page) {
+        if (q == null || q.trim().isEmpty() || page < 1 || page > MovieService.OMDB_MAX_PAGE) {
+            return ResponseEntity.badRequest().build();
         }
+
+        return ResponseEntity.ok(movieService.streamSearch(q.trim(), page)
+                .onErrorResume(e -> {
+                    // Log error and close the stream with an empty response
+                    log.error("Search stream for '{}' page {} failed", q.trim(), page, e);
+                    return Flux.just(new SearchStreamEventDto(null, null, "False", null));
+                }));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<MovieBatchResponseDto>> getMoviesByIds(@RequestBody MovieBatchRequestDto request) {
+        return getMoviesByIds(request.getIds());
+    }
+
+    @GetMapping("/batch")
+    public Mono<ResponseEntity<MovieBatchResponseDto>> getMoviesByIds(@RequestParam(required = false) List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > batchMaxIds) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return movieService.getMoviesByIds(ids)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    // Log error, per-ID failures are already reported in the response
+                    log.error("Batch lookup of {} movies failed", ids.size(), e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
     }
 
     @GetMapping("/{imdbId}")
-    public ResponseEntity<MovieDetailDto> getMovieById(@PathVariable String imdbId) {
+    public Mono<ResponseEntity<MovieDetailDto>> getMovieById(@PathVariable String imdbId) {
         if (imdbId == null || imdbId.trim().isEmpty()) {
-            return ResponseEntity.badRequest().build();
+            return Mono.just(ResponseEntity.badRequest().build());
         }
 
-        try {
-            MovieDetailDto response = movieService.getMovieById(imdbId.trim());
-
-            if (response != null && "True".equals(response.getResponse())) {
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
-        } catch (Exception e) {
-            // Log error and return not found
-            e.printStackTrace();
-            return ResponseEntity.notFound().build();
-        }
+        return movieService.getMovieById(imdbId.trim())
+                .filter(response -> "True".equals(response.getResponse()))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> {
+                    // Log error and return not found
+                    e.printStackTrace();
+                    return Mono.just(ResponseEntity.notFound().build());
+                });
+    }
+
+    private MovieSearchResponseDto falseResponse() {
+        MovieSearchResponseDto response = new MovieSearchResponseDto();
+        response.setResponse("False");
+        return response;
     }
-}
\ No newline at end of file
+}
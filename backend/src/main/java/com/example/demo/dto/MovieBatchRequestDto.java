@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+public class MovieBatchRequestDto {
+    private List<String> ids;
+
+    // Constructors
+    public MovieBatchRequestDto() {
+    }
+
+    public MovieBatchRequestDto(List<String> ids) {
+        this.ids = ids;
+    }
+
+    // Getters and Setters
+    public List<String> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<String> ids) {
+        this.ids = ids;
+    }
+}
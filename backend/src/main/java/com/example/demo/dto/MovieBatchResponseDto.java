@@ -0,0 +1,38 @@
+package com.example.demo.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class MovieBatchResponseDto {
+    // Resolved movies by imdbID, in request order
+    private Map<String, MovieDetailDto> movies = new LinkedHashMap<>();
+
+    // Why an imdbID could not be resolved
+    private Map<String, String> errors = new LinkedHashMap<>();
+
+    // Constructors
+    public MovieBatchResponseDto() {
+    }
+
+    public MovieBatchResponseDto(Map<String, MovieDetailDto> movies, Map<String, String> errors) {
+        this.movies = movies;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public Map<String, MovieDetailDto> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(Map<String, MovieDetailDto> movies) {
+        this.movies = movies;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, String> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class MovieBrowseResponseDto {
+    private List<MovieListItemDto> movies = new ArrayList<>();
+
+    // Opaque cursor for the following page, null on the last one
+    private String next;
+
+    // Constructors
+    public MovieBrowseResponseDto() {
+    }
+
+    public MovieBrowseResponseDto(List<MovieListItemDto> movies, String next) {
+        this.movies = movies;
+        this.next = next;
+    }
+
+    // Getters and Setters
+    public List<MovieListItemDto> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(List<MovieListItemDto> movies) {
+        this.movies = movies;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
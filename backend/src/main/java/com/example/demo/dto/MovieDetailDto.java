@@ -2,6 +2,7 @@
 package com.example.demo.dto;
 
 import com.example.demo.entity.MovieType;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class MovieDetailDto {
@@ -41,10 +42,30 @@ public class MovieDetailDto {
     @JsonProperty("Response")
     private String response;
 
+    @JsonProperty("Error")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
     // Constructors
     public MovieDetailDto() {
     }
 
+    public MovieDetailDto(MovieDetailDto other) {
+        this.title = other.title;
+        this.year = other.year;
+        this.imdbID = other.imdbID;
+        this.type = other.type;
+        this.poster = other.poster;
+        this.plot = other.plot;
+        this.director = other.director;
+        this.actors = other.actors;
+        this.runtime = other.runtime;
+        this.genre = other.genre;
+        this.imdbRating = other.imdbRating;
+        this.response = other.response;
+        this.error = other.error;
+    }
+
     // Getters and Setters
     public String getTitle() {
         return title;
@@ -141,4 +162,12 @@ public class MovieDetailDto {
     public void setResponse(String response) {
         this.response = response;
     }
-}
\ No newline at end of file
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
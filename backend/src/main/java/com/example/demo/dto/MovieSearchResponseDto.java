@@ -1,5 +1,6 @@
 package com.example.demo.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
@@ -13,6 +14,10 @@ public class MovieSearchResponseDto {
     @JsonProperty("Response")
     private String response;
 
+    @JsonProperty("Error")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+
     // Constructors
     public MovieSearchResponseDto() {
     }
@@ -47,4 +52,12 @@ public class MovieSearchResponseDto {
     public void setResponse(String response) {
         this.response = response;
     }
-}
\ No newline at end of file
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
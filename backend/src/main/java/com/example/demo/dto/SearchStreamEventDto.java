@@ -0,0 +1,100 @@
+package com.example.demo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+// One event of a streamed search: a batch of results, or the closing totals
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchStreamEventDto {
+    public static final String RESULTS = "results";
+    public static final String COMPLETE = "complete";
+
+    // "results" or "complete"
+    private String type;
+
+    // Where a batch of results came from: "cache", "local" or "omdb"
+    private String source;
+
+    private List<MovieListItemDto> movies;
+
+    // Set on the closing event
+    private String totalResults;
+    private Integer streamed;
+    private String response;
+    private String error;
+
+    // Constructors
+    public SearchStreamEventDto() {
+    }
+
+    public SearchStreamEventDto(String source, List<MovieListItemDto> movies) {
+        this.type = RESULTS;
+        this.source = source;
+        this.movies = movies;
+    }
+
+    public SearchStreamEventDto(String totalResults, Integer streamed, String response, String error) {
+        this.type = COMPLETE;
+        this.totalResults = totalResults;
+        this.streamed = streamed;
+        this.response = response;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public List<MovieListItemDto> getMovies() {
+        return movies;
+    }
+
+    public void setMovies(List<MovieListItemDto> movies) {
+        this.movies = movies;
+    }
+
+    public String getTotalResults() {
+        return totalResults;
+    }
+
+    public void setTotalResults(String totalResults) {
+        this.totalResults = totalResults;
+    }
+
+    public Integer getStreamed() {
+        return streamed;
+    }
+
+    public void setStreamed(Integer streamed) {
+        this.streamed = streamed;
+    }
+
+    public String getResponse() {
+        return response;
+    }
+
+    public void setResponse(String response) {
+        this.response = response;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
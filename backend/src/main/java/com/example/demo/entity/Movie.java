@@ -2,11 +2,12 @@ package com.example.demo.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.domain.Persistable;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "movies")
-public class Movie {
+public class Movie implements Persistable<String> {
 
     @Id
     @Column(name = "imdb_id")
@@ -17,8 +18,12 @@ public class Movie {
     @NotBlank
     private String title;
 
-    @Column(name = "year")
-    private String year;
+    // First and last year; equal for a single release, no end while a series is running
+    @Column(name = "year_start")
+    private Short yearStart;
+
+    @Column(name = "year_end")
+    private Short yearEnd;
 
     @Enumerated(EnumType.STRING)
     @Column(name = "type")
@@ -33,17 +38,18 @@ public class Movie {
     @Column(name = "director")
     private String director;
 
-    @Column(name = "actors", columnDefinition = "TEXT")
-    private String actors;
+    @Column(name = "actors", columnDefinition = "TEXT[]")
+    private String[] actors;
 
-    @Column(name = "runtime")
-    private String runtime;
+    @Column(name = "runtime_minutes")
+    private Short runtimeMinutes;
 
-    @Column(name = "genre")
-    private String genre;
+    @Column(name = "genres", columnDefinition = "TEXT[]")
+    private String[] genres;
 
-    @Column(name = "imdb_rating")
-    private String imdbRating;
+    // The rating times ten, 8.7 is stored as 87
+    @Column(name = "imdb_rating_x10")
+    private Short imdbRatingX10;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
@@ -51,14 +57,24 @@ public class Movie {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // When the full details were last fetched, listing updates from searches leave it alone
+    @Column(name = "details_updated_at")
+    private LocalDateTime detailsUpdatedAt;
+
+    // The id is assigned from OMDb, so track newness ourselves to let save() persist
+    // without the select that merge() would issue first
+    @Transient
+    private boolean isNew = true;
+
     // Constructors
     public Movie() {
     }
 
-    public Movie(String imdbID, String title, String year, MovieType type, String poster) {
+    public Movie(String imdbID, String title, Short yearStart, Short yearEnd, MovieType type, String poster) {
         this.imdbID = imdbID;
         this.title = title;
-        this.year = year;
+        this.yearStart = yearStart;
+        this.yearEnd = yearEnd;
         this.type = type;
         this.poster = poster;
         this.createdAt = LocalDateTime.now();
@@ -76,6 +92,22 @@ public class Movie {
         updatedAt = LocalDateTime.now();
     }
 
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public String getId() {
+        return imdbID;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
     // Getters and Setters
     public String getImdbID() {
         return imdbID;
@@ -93,12 +125,20 @@ public class Movie {
         this.title = title;
     }
 
-    public String getYear() {
-        return year;
+    public Short getYearStart() {
+        return yearStart;
+    }
+
+    public void setYearStart(Short yearStart) {
+        this.yearStart = yearStart;
+    }
+
+    public Short getYearEnd() {
+        return yearEnd;
     }
 
-    public void setYear(String year) {
-        this.year = year;
+    public void setYearEnd(Short yearEnd) {
+        this.yearEnd = yearEnd;
     }
 
     public MovieType getType() {
@@ -133,36 +173,36 @@ public class Movie {
         this.director = director;
     }
 
-    public String getActors() {
+    public String[] getActors() {
         return actors;
     }
 
-    public void setActors(String actors) {
+    public void setActors(String[] actors) {
         this.actors = actors;
     }
 
-    public String getRuntime() {
-        return runtime;
+    public Short getRuntimeMinutes() {
+        return runtimeMinutes;
     }
 
-    public void setRuntime(String runtime) {
-        this.runtime = runtime;
+    public void setRuntimeMinutes(Short runtimeMinutes) {
+        this.runtimeMinutes = runtimeMinutes;
     }
 
-    public String getGenre() {
-        return genre;
+    public String[] getGenres() {
+        return genres;
     }
 
-    public void setGenre(String genre) {
-        this.genre = genre;
+    public void setGenres(String[] genres) {
+        this.genres = genres;
     }
 
-    public String getImdbRating() {
-        return imdbRating;
+    public Short getImdbRatingX10() {
+        return imdbRatingX10;
     }
 
-    public void setImdbRating(String imdbRating) {
-        this.imdbRating = imdbRating;
+    public void setImdbRatingX10(Short imdbRatingX10) {
+        this.imdbRatingX10 = imdbRatingX10;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -180,4 +220,12 @@ public class Movie {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public LocalDateTime getDetailsUpdatedAt() {
+        return detailsUpdatedAt;
+    }
+
+    public void setDetailsUpdatedAt(LocalDateTime detailsUpdatedAt) {
+        this.detailsUpdatedAt = detailsUpdatedAt;
+    }
 }
\ No newline at end of file
@@ -5,23 +5,38 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "search_queries")
+@Table(name = "search_queries", uniqueConstraints =
+        @UniqueConstraint(name = "uk_search_queries_text_page", columnNames = {"search_text", "page"}))
+// A stored page as exactly the columns its response needs, one row per result in OMDb's order.
+// Named, so it's parsed once at startup rather than on every call through SearchQueryRepository.
+@NamedQuery(name = "SearchQuery.findPageRows", query = """
+        SELECT new com.example.demo.repository.SearchPageRow(
+            sq.totalResults, sq.response, sq.updatedAt, m.imdbID, m.title, m.yearStart, m.yearEnd, m.type, m.poster)
+        FROM SearchQuery sq LEFT JOIN sq.searchResults sr LEFT JOIN sr.movie m
+        WHERE sq.searchText = :searchText AND sq.page = :page
+        ORDER BY sr.position
+        """)
 public class SearchQuery {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "search_queries_seq")
+    @SequenceGenerator(name = "search_queries_seq", sequenceName = "search_queries_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "search_text", nullable = false, unique = true)
+    @Column(name = "search_text", nullable = false)
     private String searchText;
 
+    @Column(name = "page", nullable = false)
+    private Integer page = 1;
+
     @Column(name = "total_results")
-    private String totalResults;
+    private Integer totalResults;
 
     @Column(name = "response", nullable = false)
     private Boolean response;
 
     @OneToMany(mappedBy = "searchQuery", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OrderBy("position ASC")
     private List<SearchResult> searchResults;
 
     @Column(name = "created_at")
@@ -34,7 +49,7 @@ public class SearchQuery {
     public SearchQuery() {
     }
 
-    public SearchQuery(String searchText, String totalResults, Boolean response) {
+    public SearchQuery(String searchText, Integer totalResults, Boolean response) {
         this.searchText = searchText;
         this.totalResults = totalResults;
         this.response = response;
@@ -42,6 +57,11 @@ public class SearchQuery {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public SearchQuery(String searchText, Integer page, Integer totalResults, Boolean response) {
+        this(searchText, totalResults, response);
+        this.page = page;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -70,11 +90,19 @@ public class SearchQuery {
         this.searchText = searchText;
     }
 
-    public String getTotalResults() {
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public Integer getTotalResults() {
         return totalResults;
     }
 
-    public void setTotalResults(String totalResults) {
+    public void setTotalResults(Integer totalResults) {
         this.totalResults = totalResults;
     }
 
@@ -7,7 +7,8 @@ import jakarta.persistence.*;
 public class SearchResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "search_results_seq")
+    @SequenceGenerator(name = "search_results_seq", sequenceName = "search_results_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -18,6 +19,10 @@ public class SearchResult {
     @JoinColumn(name = "imdb_id")
     private Movie movie;
 
+    // Rank of the movie within its page, as returned by OMDb
+    @Column(name = "position")
+    private Integer position;
+
     // Constructors
     public SearchResult() {
     }
@@ -27,6 +32,11 @@ public class SearchResult {
         this.movie = movie;
     }
 
+    public SearchResult(SearchQuery searchQuery, Movie movie, Integer position) {
+        this(searchQuery, movie);
+        this.position = position;
+    }
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -51,4 +61,12 @@ public class SearchResult {
     public void setMovie(Movie movie) {
         this.movie = movie;
     }
+
+    public Integer getPosition() {
+        return position;
+    }
+
+    public void setPosition(Integer position) {
+        this.position = position;
+    }
 }
\ No newline at end of file
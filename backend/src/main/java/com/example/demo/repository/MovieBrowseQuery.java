@@ -0,0 +1,19 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MovieType;
+
+/**
+ * Filters and keyset position for one page of the catalog. Null filters are not applied and
+ * genre matches any case; afterKey and afterImdbId are the sort key and id of the last movie
+ * on the previous page.
+ */
+public record MovieBrowseQuery(MovieType type,
+                               String genre,
+                               Short yearFrom,
+                               Short yearTo,
+                               Short minRatingX10,
+                               MovieSort sort,
+                               Object afterKey,
+                               String afterImdbId,
+                               int limit) {
+}
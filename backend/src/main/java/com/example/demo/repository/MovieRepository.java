@@ -2,9 +2,45 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.Movie;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
-public interface MovieRepository extends JpaRepository<Movie, String> {
-    // Custom query methods can be added here if needed
-}
\ No newline at end of file
+public interface MovieRepository extends JpaRepository<Movie, String>, MovieRepositoryCustom {
+
+    // Prefix terms match through the full-text index, partial terms through the trigram index.
+    // Either way the search has to cover a word of the title well enough, so a short search
+    // like "it" finds "It Follows" but not every title that merely contains the letters
+    @Query(value = """
+            SELECT * FROM movies
+            WHERE (to_tsvector('simple', title) @@ to_tsquery('simple', :tsQuery)
+                   OR lower(title) LIKE '%' || lower(:likePattern) || '%')
+              AND word_similarity(lower(:searchText), lower(title)) >= :minSimilarity
+            ORDER BY similarity(lower(title), lower(:searchText)) DESC, imdb_id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    @Transactional(readOnly = true)
+    List<Movie> searchByTitle(@Param("searchText") String searchText,
+                              @Param("tsQuery") String tsQuery,
+                              @Param("likePattern") String likePattern,
+                              @Param("minSimilarity") double minSimilarity,
+                              @Param("limit") int limit,
+                              @Param("offset") int offset);
+
+    // Same match as searchByTitle, the total its pages add up to
+    @Query(value = """
+            SELECT count(*) FROM movies
+            WHERE (to_tsvector('simple', title) @@ to_tsquery('simple', :tsQuery)
+                   OR lower(title) LIKE '%' || lower(:likePattern) || '%')
+              AND word_similarity(lower(:searchText), lower(title)) >= :minSimilarity
+            """, nativeQuery = true)
+    @Transactional(readOnly = true)
+    long countByTitle(@Param("searchText") String searchText,
+                      @Param("tsQuery") String tsQuery,
+                      @Param("likePattern") String likePattern,
+                      @Param("minSimilarity") double minSimilarity);
+}
@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Movie;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MovieRepositoryCustom {
+
+    // Inserts or updates title, year, type and poster only, stored details are left untouched
+    void upsertListing(Movie movie);
+
+    void upsertListings(Collection<Movie> movies);
+
+    // Inserts or updates every column with the full OMDb details
+    void upsertDetails(Movie movie);
+
+    void upsertDetails(Collection<Movie> movies);
+
+    // One page of listing fields, filtered and in keyset order, see MovieBrowseQuery
+    List<Movie> browse(MovieBrowseQuery query);
+}
@@ -0,0 +1,183 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Movie;
+import com.example.demo.entity.MovieType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Postgres upserts and catalog browsing for movies. A single INSERT ... ON CONFLICT replaces the select plus
+ * insert/update of a read-modify-write and can't lose a race against another replica.
+ */
+public class MovieRepositoryImpl implements MovieRepositoryCustom {
+
+    private static final String UPSERT_LISTING_SQL = """
+            INSERT INTO movies (imdb_id, title, year_start, year_end, type, poster, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, now(), now())
+            ON CONFLICT (imdb_id) DO UPDATE SET
+                title = EXCLUDED.title,
+                year_start = EXCLUDED.year_start,
+                year_end = EXCLUDED.year_end,
+                type = EXCLUDED.type,
+                poster = EXCLUDED.poster,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String UPSERT_DETAILS_SQL = """
+            INSERT INTO movies (imdb_id, title, year_start, year_end, type, poster, plot, director, actors,
+                                runtime_minutes, genres, imdb_rating_x10, created_at, updated_at, details_updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, now(), now(), now())
+            ON CONFLICT (imdb_id) DO UPDATE SET
+                title = EXCLUDED.title,
+                year_start = EXCLUDED.year_start,
+                year_end = EXCLUDED.year_end,
+                type = EXCLUDED.type,
+                poster = EXCLUDED.poster,
+                plot = EXCLUDED.plot,
+                director = EXCLUDED.director,
+                actors = EXCLUDED.actors,
+                runtime_minutes = EXCLUDED.runtime_minutes,
+                genres = EXCLUDED.genres,
+                imdb_rating_x10 = EXCLUDED.imdb_rating_x10,
+                updated_at = EXCLUDED.updated_at,
+                details_updated_at = EXCLUDED.details_updated_at
+            """;
+
+    private static final String BROWSE_COLUMNS =
+            "SELECT imdb_id, title, year_start, year_end, type, poster, imdb_rating_x10 FROM movies";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertListing(Movie movie) {
+        upsertListings(List.of(movie));
+    }
+
+    @Override
+    public void upsertListings(Collection<Movie> movies) {
+        if (!movies.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_LISTING_SQL, movies, movies.size(), this::bindListing);
+        }
+    }
+
+    @Override
+    public void upsertDetails(Movie movie) {
+        upsertDetails(List.of(movie));
+    }
+
+    @Override
+    public void upsertDetails(Collection<Movie> movies) {
+        if (!movies.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_DETAILS_SQL, movies, movies.size(), (ps, movie) -> {
+                bindListing(ps, movie);
+                ps.setString(7, movie.getPlot());
+                ps.setString(8, movie.getDirector());
+                setTextArray(ps, 9, movie.getActors());
+                ps.setObject(10, movie.getRuntimeMinutes(), Types.SMALLINT);
+                setTextArray(ps, 11, movie.getGenres());
+                ps.setObject(12, movie.getImdbRatingX10(), Types.SMALLINT);
+            });
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Movie> browse(MovieBrowseQuery query) {
+        BrowseStatement statement = browseStatement(query);
+        return jdbcTemplate.query(statement.sql(), this::mapListing, statement.args());
+    }
+
+    // The SQL and arguments for one page of the catalog, apart from running it so its plan can be checked
+    BrowseStatement browseStatement(MovieBrowseQuery query) {
+        MovieSort sort = query.sort();
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+
+        if (query.type() != null) {
+            conditions.add("type = ?");
+            args.add(query.type().name());
+        }
+        // Genres match case-insensitively, through the index on lower_elements(genres) (V10)
+        if (query.genre() != null) {
+            conditions.add("lower_elements(genres) @> ARRAY[lower(?)]::text[]");
+            args.add(query.genre());
+        }
+        if (query.yearFrom() != null) {
+            conditions.add("year_start >= ?");
+            args.add(query.yearFrom());
+        }
+        if (query.yearTo() != null) {
+            conditions.add("year_start <= ?");
+            args.add(query.yearTo());
+        }
+        if (query.minRatingX10() != null) {
+            conditions.add("imdb_rating_x10 >= ?");
+            args.add(query.minRatingX10());
+        }
+        conditions.add(sort.getColumn() + " IS NOT NULL");
+
+        // Seek past the previous page with a row comparison, which the (column, imdb_id) index can serve
+        if (query.afterImdbId() != null) {
+            conditions.add("(" + sort.getColumn() + ", imdb_id) " + (sort.isDescending() ? "<" : ">") + " (?, ?)");
+            args.add(query.afterKey());
+            args.add(query.afterImdbId());
+        }
+        args.add(query.limit());
+
+        String direction = sort.isDescending() ? " DESC" : "";
+        String sql = BROWSE_COLUMNS
+                + " WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY " + sort.getColumn() + direction + ", imdb_id" + direction
+                + " LIMIT ?";
+
+        return new BrowseStatement(sql, args.toArray());
+    }
+
+    record BrowseStatement(String sql, Object[] args) {
+    }
+
+    private Movie mapListing(ResultSet rs, int rowNum) throws SQLException {
+        String type = rs.getString("type");
+        Movie movie = new Movie(
+                rs.getString("imdb_id"),
+                rs.getString("title"),
+                getShort(rs, "year_start"),
+                getShort(rs, "year_end"),
+                type != null ? MovieType.valueOf(type) : null,
+                rs.getString("poster"));
+        movie.setImdbRatingX10(getShort(rs, "imdb_rating_x10"));
+        return movie;
+    }
+
+    private Short getShort(ResultSet rs, String column) throws SQLException {
+        short value = rs.getShort(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private void bindListing(PreparedStatement ps, Movie movie) throws SQLException {
+        ps.setString(1, movie.getImdbID());
+        ps.setString(2, movie.getTitle());
+        ps.setObject(3, movie.getYearStart(), Types.SMALLINT);
+        ps.setObject(4, movie.getYearEnd(), Types.SMALLINT);
+        ps.setString(5, movie.getType() != null ? movie.getType().name() : null);
+        ps.setString(6, movie.getPoster());
+    }
+
+    private void setTextArray(PreparedStatement ps, int index, String[] values) throws SQLException {
+        if (values == null) {
+            ps.setNull(index, Types.ARRAY);
+        } else {
+            ps.setArray(index, ps.getConnection().createArrayOf("text", values));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Movie;
+
+import java.util.function.Function;
+
+/**
+ * Sort orders for browsing the catalog. Each one is backed by a (column, imdb_id) index,
+ * imdb_id breaks ties so that keyset pagination always has a unique position to resume from.
+ */
+public enum MovieSort {
+    TITLE("title", "title", false, Movie::getTitle, key -> key),
+    // Newest and best rated first, movies without a year or rating are left out
+    YEAR("year", "year_start", true, Movie::getYearStart, Short::valueOf),
+    RATING("rating", "imdb_rating_x10", true, Movie::getImdbRatingX10, Short::valueOf);
+
+    private final String param;
+    private final String column;
+    private final boolean descending;
+    private final Function<Movie, Object> key;
+    private final Function<String, Object> keyParser;
+
+    MovieSort(String param, String column, boolean descending,
+              Function<Movie, Object> key, Function<String, Object> keyParser) {
+        this.param = param;
+        this.column = column;
+        this.descending = descending;
+        this.key = key;
+        this.keyParser = keyParser;
+    }
+
+    public static MovieSort fromParam(String param) {
+        for (MovieSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + param);
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    // The sort column's value for a movie, the first half of its keyset position
+    public Object keyOf(Movie movie) {
+        return key.apply(movie);
+    }
+
+    public Object parseKey(String value) {
+        return keyParser.apply(value);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.MovieType;
+
+import java.time.LocalDateTime;
+
+/**
+ * One result of a stored search page, flattened with the page's own columns. Read through
+ * a constructor expression, so no entities are hydrated or tracked for dirty checking.
+ * The movie columns are null for a page stored without results.
+ */
+public record SearchPageRow(Integer totalResults,
+                            Boolean response,
+                            LocalDateTime updatedAt,
+                            String imdbID,
+                            String title,
+                            Short yearStart,
+                            Short yearEnd,
+                            MovieType type,
+                            String poster) {
+}
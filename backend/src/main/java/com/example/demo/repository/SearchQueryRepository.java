@@ -2,14 +2,22 @@ package com.example.demo.repository;
 
 import com.example.demo.entity.SearchQuery;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.Optional;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface SearchQueryRepository extends JpaRepository<SearchQuery, Long> {
 
-    @Query("SELECT sq FROM SearchQuery sq LEFT JOIN FETCH sq.searchResults sr LEFT JOIN FETCH sr.movie WHERE sq.searchText = :searchText")
-    Optional<SearchQuery> findBySearchTextWithResults(@Param("searchText") String searchText);
+    // A stored page as exactly the columns its response needs (the named query SearchQuery.findPageRows)
+    @Transactional(readOnly = true)
+    List<SearchPageRow> findPageRows(@Param("searchText") String searchText, @Param("page") Integer page);
+
+    boolean existsBySearchTextAndPage(String searchText, Integer page);
+
+    // Pages already stored for these search texts, without their results
+    List<SearchQuery> findBySearchTextIn(Collection<String> searchTexts);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.SearchQuery;
+import com.example.demo.entity.SearchResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+
+@Repository
+public interface SearchResultRepository extends JpaRepository<SearchResult, Long> {
+
+    // Clears the results of search pages that are about to be replaced by a refresh
+    @Modifying
+    @Query("DELETE FROM SearchResult sr WHERE sr.searchQuery IN :searchQueries")
+    int deleteBySearchQueryIn(@Param("searchQueries") Collection<SearchQuery> searchQueries);
+}
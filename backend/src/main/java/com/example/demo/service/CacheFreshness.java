@@ -0,0 +1,70 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Freshness policy for stored OMDb data. An entry younger than its fresh-for window is
+ * served as is, one younger than its max age is served while a refresh runs in the
+ * background, and anything older is treated as missing.
+ */
+@Component
+public class CacheFreshness {
+
+    public enum Freshness {
+        FRESH, STALE, EXPIRED
+    }
+
+    @Value("${cache.freshness.search.fresh-for:6h}")
+    private Duration searchFreshFor;
+
+    @Value("${cache.freshness.search.max-age:30d}")
+    private Duration searchMaxAge;
+
+    @Value("${cache.freshness.movie-details.fresh-for:7d}")
+    private Duration movieDetailsFreshFor;
+
+    @Value("${cache.freshness.movie-details.max-age:180d}")
+    private Duration movieDetailsMaxAge;
+
+    public Freshness ofSearch(LocalDateTime updatedAt) {
+        return of(updatedAt, searchFreshFor, searchMaxAge);
+    }
+
+    public Freshness ofMovieDetails(LocalDateTime detailsUpdatedAt) {
+        return of(detailsUpdatedAt, movieDetailsFreshFor, movieDetailsMaxAge);
+    }
+
+    // How long an entry written at updatedAt stays fresh, for tiers that only hold fresh entries
+    public Duration remainingSearchFreshness(LocalDateTime updatedAt) {
+        return remaining(updatedAt, searchFreshFor);
+    }
+
+    public Duration remainingMovieDetailsFreshness(LocalDateTime detailsUpdatedAt) {
+        return remaining(detailsUpdatedAt, movieDetailsFreshFor);
+    }
+
+    private Duration remaining(LocalDateTime updatedAt, Duration freshFor) {
+        if (updatedAt == null) {
+            return Duration.ZERO;
+        }
+        Duration left = freshFor.minus(Duration.between(updatedAt, LocalDateTime.now()));
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    private Freshness of(LocalDateTime updatedAt, Duration freshFor, Duration maxAge) {
+        // Rows written before timestamps were kept are due for a refresh, not unusable
+        if (updatedAt == null) {
+            return Freshness.STALE;
+        }
+
+        Duration age = Duration.between(updatedAt, LocalDateTime.now());
+        if (age.compareTo(freshFor) < 0) {
+            return Freshness.FRESH;
+        }
+        return age.compareTo(maxAge) < 0 ? Freshness.STALE : Freshness.EXPIRED;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+
+/**
+ * Token bucket kept in the omdb_rate_limit table, so every replica sharing the database
+ * spends from the same OMDb quota. Refill and take happen in one conditional UPDATE, the
+ * row lock serializes concurrent takers.
+ */
+@Component
+@ConditionalOnProperty(name = "omdb.rate-limit.store", havingValue = "jdbc")
+public class JdbcOmdbTokenBucket implements OmdbTokenBucket, InitializingBean {
+
+    private static final String BUCKET = "omdb";
+
+    private static final String INIT_SQL = """
+            INSERT INTO omdb_rate_limit (bucket, tokens, refilled_at)
+            VALUES (?, ?, clock_timestamp())
+            ON CONFLICT (bucket) DO NOTHING
+            """;
+
+    private static final String TAKE_SQL = """
+            UPDATE omdb_rate_limit
+            SET tokens = least(?, tokens + extract(epoch FROM clock_timestamp() - refilled_at) * ?) - 1,
+                refilled_at = clock_timestamp()
+            WHERE bucket = ?
+              AND least(?, tokens + extract(epoch FROM clock_timestamp() - refilled_at) * ?) - 1 >= ?
+            RETURNING tokens
+            """;
+
+    private static final String AVAILABLE_SQL = """
+            SELECT least(?, tokens + extract(epoch FROM clock_timestamp() - refilled_at) * ?)
+            FROM omdb_rate_limit
+            WHERE bucket = ?
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Scheduler jdbcScheduler;
+
+    @Value("${omdb.rate-limit.capacity:100}")
+    private double capacity;
+
+    @Value("${omdb.rate-limit.quota-per-day:1000}")
+    private double quotaPerDay;
+
+    // Refreshed on every take, so the gauge doesn't have to query the table
+    private volatile double lastSeenTokens;
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate.update(INIT_SQL, BUCKET, capacity);
+        lastSeenTokens = capacity;
+    }
+
+    @Override
+    public Mono<Boolean> tryTake(double reserve) {
+        return Mono.fromCallable(() -> take(reserve)).subscribeOn(jdbcScheduler);
+    }
+
+    @Override
+    public double availableTokens() {
+        return lastSeenTokens;
+    }
+
+    @Override
+    public double capacity() {
+        return capacity;
+    }
+
+    private boolean take(double reserve) {
+        double perSecond = quotaPerDay / 86_400;
+        List<Double> remaining = jdbcTemplate.queryForList(TAKE_SQL, Double.class,
+                capacity, perSecond, BUCKET, capacity, perSecond, reserve * capacity);
+
+        if (remaining.isEmpty()) {
+            Double available = jdbcTemplate.queryForObject(AVAILABLE_SQL, Double.class, capacity, perSecond, BUCKET);
+            lastSeenTokens = available != null ? available : 0;
+            return false;
+        }
+
+        lastSeenTokens = remaining.get(0);
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory token bucket, for a single instance or for working offline. Each replica using
+ * it spends the full quota on its own, so multi-replica deployments use the JDBC bucket.
+ */
+@Component
+@ConditionalOnProperty(name = "omdb.rate-limit.store", havingValue = "local", matchIfMissing = true)
+public class LocalOmdbTokenBucket implements OmdbTokenBucket {
+
+    private static final double NANOS_PER_DAY = 86_400e9;
+
+    private final double capacity;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long refilledAt;
+
+    public LocalOmdbTokenBucket(@Value("${omdb.rate-limit.capacity:100}") double capacity,
+                                @Value("${omdb.rate-limit.quota-per-day:1000}") double quotaPerDay) {
+        this.capacity = capacity;
+        this.tokensPerNano = quotaPerDay / NANOS_PER_DAY;
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    @Override
+    public Mono<Boolean> tryTake(double reserve) {
+        return Mono.fromSupplier(() -> take(reserve));
+    }
+
+    @Override
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    @Override
+    public double capacity() {
+        return capacity;
+    }
+
+    private synchronized boolean take(double reserve) {
+        refill();
+        if (tokens - 1 < reserve * capacity) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+    }
+}
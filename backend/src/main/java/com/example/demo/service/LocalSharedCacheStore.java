@@ -0,0 +1,80 @@
+package com.example.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for the shared tier, for a single instance, local runs and tests.
+ * Every replica using it holds its own copy, so multi-replica deployments use Redis.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.shared.store", havingValue = "local", matchIfMissing = true)
+public class LocalSharedCacheStore implements SharedCacheStore {
+
+    private final Cache<String, Entry> entries;
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    public LocalSharedCacheStore(@Value("${cache.shared.local.max-size:10000}") long maxSize) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Mono<String> get(String key) {
+        return Mono.fromSupplier(() -> {
+            Entry entry = entries.getIfPresent(key);
+            return entry != null ? entry.value() : null;
+        });
+    }
+
+    @Override
+    public Mono<Void> put(String key, String value, Duration ttl) {
+        return Mono.fromRunnable(() -> entries.put(key, new Entry(value, ttl)));
+    }
+
+    @Override
+    public Mono<Void> evict(Collection<String> keys) {
+        return Mono.fromRunnable(() -> entries.invalidateAll(keys));
+    }
+
+    @Override
+    public Mono<Void> broadcast(String message) {
+        return Mono.fromRunnable(() -> listeners.forEach(listener -> listener.accept(message)));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    private record Entry(String value, Duration ttl) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.Movie;
+import com.example.demo.entity.SearchQuery;
+import com.example.demo.entity.SearchResult;
+import com.example.demo.repository.MovieRepository;
+import com.example.demo.repository.SearchQueryRepository;
+import com.example.demo.repository.SearchResultRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists OMDb search results and movie details. A whole batch of writes shares one
+ * transaction, movies are upserted in one JDBC batch and search rows in another.
+ */
+@Service
+@Transactional
+public class MovieCacheWriter {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private SearchQueryRepository searchQueryRepository;
+
+    @Autowired
+    private SearchResultRepository searchResultRepository;
+
+    /**
+     * Writes the given search pages and movie details (keyed by imdbID).
+     * Returns the imdbIDs whose stored list-level fields were overwritten.
+     */
+    public Set<String> write(Map<SearchQueryKey, MovieSearchResponseDto> searches, Map<String, MovieDetailDto> movieDetails) {
+        // Stale pages being refreshed, or pages another node stored meanwhile, are replaced
+        Map<SearchQueryKey, SearchQuery> existingPages = findExistingPages(searches.keySet());
+        if (!existingPages.isEmpty()) {
+            searchResultRepository.deleteBySearchQueryIn(existingPages.values());
+        }
+
+        // OMDb can list the same movie more than once per page and across pages
+        Map<String, Movie> listings = new LinkedHashMap<>();
+        List<SearchQuery> newSearchQueries = new ArrayList<>();
+
+        for (Map.Entry<SearchQueryKey, MovieSearchResponseDto> search : searches.entrySet()) {
+            SearchQuery existing = existingPages.get(search.getKey());
+            SearchQuery searchQuery = cacheSearchResults(search.getKey(), search.getValue(), existing, listings);
+            if (existing == null) {
+                newSearchQueries.add(searchQuery);
+            }
+        }
+
+        List<Movie> details = new ArrayList<>();
+        for (MovieDetailDto movieDetail : movieDetails.values()) {
+            Movie movie = cacheMovieDetails(movieDetail);
+            if (movie != null) {
+                details.add(movie);
+            }
+        }
+
+        // Movies go first so the search results' foreign keys resolve when they are flushed
+        movieRepository.upsertListings(listings.values());
+        movieRepository.upsertDetails(details);
+        searchQueryRepository.saveAll(newSearchQueries);
+
+        return listings.keySet();
+    }
+
+    private Map<SearchQueryKey, SearchQuery> findExistingPages(Set<SearchQueryKey> keys) {
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<String> searchTexts = new HashSet<>();
+        for (SearchQueryKey key : keys) {
+            searchTexts.add(key.searchText());
+        }
+
+        Map<SearchQueryKey, SearchQuery> existingPages = new HashMap<>();
+        for (SearchQuery searchQuery : searchQueryRepository.findBySearchTextIn(searchTexts)) {
+            SearchQueryKey key = new SearchQueryKey(searchQuery.getSearchText(), searchQuery.getPage());
+            if (keys.contains(key)) {
+                existingPages.put(key, searchQuery);
+            }
+        }
+        return existingPages;
+    }
+
+    private SearchQuery cacheSearchResults(SearchQueryKey key, MovieSearchResponseDto response, SearchQuery existing,
+                                           Map<String, Movie> listings) {
+        SearchQuery searchQuery = existing;
+        if (searchQuery == null) {
+            searchQuery = new SearchQuery(key.searchText(), key.page(), OmdbValues.parseCount(response.getTotalResults()), true);
+        } else {
+            // Keep the row and its id, its old results were deleted above
+            searchQuery.setTotalResults(OmdbValues.parseCount(response.getTotalResults()));
+            searchQuery.setUpdatedAt(LocalDateTime.now());
+        }
+
+        List<SearchResult> searchResults = new ArrayList<>();
+
+        // OmdbJsonDecoder already trimmed the values and dropped items without an id or title
+        List<MovieListItemDto> movieItems = response.getSearch() != null ? response.getSearch() : List.of();
+
+        for (MovieListItemDto movieItem : movieItems) {
+            String imdbId = movieItem.getImdbID();
+
+            OmdbValues.YearRange year = OmdbValues.parseYear(movieItem.getYear());
+            Movie movie = new Movie(
+                    imdbId,
+                    movieItem.getTitle(),
+                    year.start(),
+                    year.end(),
+                    movieItem.getType(),
+                    movieItem.getPoster() != null ? movieItem.getPoster() : "");
+            listings.put(imdbId, movie);
+
+            // Create search result, referencing the movie row without loading it
+            searchResults.add(new SearchResult(searchQuery, movieRepository.getReferenceById(imdbId), searchResults.size()));
+        }
+
+        searchQuery.setSearchResults(searchResults);
+        return searchQuery;
+    }
+
+    private Movie cacheMovieDetails(MovieDetailDto movieDetail) {
+        // Validate required fields
+        if (!isValid(movieDetail)) {
+            return null; // Don't cache invalid movies
+        }
+
+        // Values arrive trimmed from OmdbJsonDecoder, "N/A" and unparseable values are stored as null
+        OmdbValues.YearRange year = OmdbValues.parseYear(movieDetail.getYear());
+        Movie movie = new Movie();
+        movie.setImdbID(movieDetail.getImdbID());
+        movie.setTitle(movieDetail.getTitle());
+        movie.setYearStart(year.start());
+        movie.setYearEnd(year.end());
+        movie.setType(movieDetail.getType());
+        movie.setPoster(movieDetail.getPoster() != null ? movieDetail.getPoster() : "");
+        movie.setPlot(movieDetail.getPlot() != null ? movieDetail.getPlot() : "");
+        movie.setDirector(movieDetail.getDirector() != null ? movieDetail.getDirector() : "");
+        movie.setActors(OmdbValues.parseList(movieDetail.getActors()));
+        movie.setRuntimeMinutes(OmdbValues.parseRuntime(movieDetail.getRuntime()));
+        movie.setGenres(OmdbValues.parseList(movieDetail.getGenre()));
+        movie.setImdbRatingX10(OmdbValues.parseRating(movieDetail.getImdbRating()));
+        return movie;
+    }
+
+    private boolean isValid(MovieDetailDto movieDetail) {
+        return movieDetail.getImdbID() != null && !movieDetail.getImdbID().isEmpty() &&
+                movieDetail.getTitle() != null && !movieDetail.getTitle().isEmpty();
+    }
+}
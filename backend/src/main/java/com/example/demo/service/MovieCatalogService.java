@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MovieBrowseResponseDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.entity.Movie;
+import com.example.demo.entity.MovieType;
+import com.example.demo.repository.MovieBrowseQuery;
+import com.example.demo.repository.MovieRepository;
+import com.example.demo.repository.MovieSort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Browses the movies already stored from OMDb by type, genre, year and rating. Pages are
+ * read straight from the database and never go upstream; each one ends with a cursor
+ * holding the last movie's sort key and id, so the next page seeks instead of offsetting.
+ */
+@Service
+public class MovieCatalogService {
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private Scheduler jdbcScheduler;
+
+    /**
+     * Returns one page of the catalog. Throws IllegalArgumentException for a cursor that
+     * is malformed or was issued for a different sort.
+     */
+    public Mono<MovieBrowseResponseDto> browse(MovieType type, String genre, Short yearFrom, Short yearTo,
+                                               Short minRatingX10, MovieSort sort, String cursor, int limit) {
+        return Mono.fromCallable(() -> {
+            Object afterKey = null;
+            String afterImdbId = null;
+            if (cursor != null) {
+                String[] position = decodeCursor(cursor, sort);
+                afterImdbId = position[0];
+                afterKey = sort.parseKey(position[1]);
+            }
+
+            // One extra row tells whether another page follows
+            List<Movie> movies = movieRepository.browse(new MovieBrowseQuery(
+                    type, genre, yearFrom, yearTo, minRatingX10, sort, afterKey, afterImdbId, limit + 1));
+
+            boolean hasMore = movies.size() > limit;
+            List<Movie> page = hasMore ? movies.subList(0, limit) : movies;
+
+            List<MovieListItemDto> movieList = new ArrayList<>();
+            for (Movie movie : page) {
+                movieList.add(new MovieListItemDto(
+                        movie.getTitle(),
+                        OmdbValues.formatYear(movie.getYearStart(), movie.getYearEnd()),
+                        movie.getImdbID(),
+                        movie.getType(),
+                        movie.getPoster()));
+            }
+
+            String next = hasMore ? encodeCursor(sort, page.get(page.size() - 1)) : null;
+            return new MovieBrowseResponseDto(movieList, next);
+        }).subscribeOn(jdbcScheduler);
+    }
+
+    // "year\ntt0133093\n1999", base64url encoded; imdbIDs never contain a newline, titles may
+    private String encodeCursor(MovieSort sort, Movie last) {
+        String position = sort.getParam() + "\n" + last.getImdbID() + "\n" + sort.keyOf(last);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor, MovieSort sort) {
+        String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+        if (parts.length != 3 || !parts[0].equals(sort.getParam()) || parts[1].isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor for sort " + sort.getParam());
+        }
+        return new String[] {parts[1], parts[2]};
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.MovieDetailDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process L1 cache of movie details, backed by the {@code movieDetails} Caffeine cache.
+ * Entries are private snapshots: a copy is stored on put and handed out on get, so callers
+ * can never mutate what other requests will be served.
+ */
+@Component
+public class MovieDetailCache {
+
+    private final Cache cache;
+
+    public MovieDetailCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.MOVIE_DETAILS);
+    }
+
+    public MovieDetailDto get(String imdbId) {
+        MovieDetailDto snapshot = cache.get(imdbId, MovieDetailDto.class);
+        return snapshot != null ? new MovieDetailDto(snapshot) : null;
+    }
+
+    public void put(String imdbId, MovieDetailDto movieDetail) {
+        cache.put(imdbId, new MovieDetailDto(movieDetail));
+    }
+
+    public void evict(String imdbId) {
+        cache.evict(imdbId);
+    }
+}
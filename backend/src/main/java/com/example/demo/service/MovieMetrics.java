@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of searches and detail lookups, tagged by where the answer came from. A lookup
+ * records the tier that answered it as it goes and is timed once when it completes, so
+ * each cache tier, the database and OMDb show up as their own series.
+ */
+@Component
+public class MovieMetrics {
+
+    public enum Outcome {
+        L1_HIT,
+        SHARED_HIT,
+        DB_HIT,
+        LOCAL_MATCH,
+        UPSTREAM_MISS,
+        ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final Map<Outcome, Timer> searchTimers = new EnumMap<>(Outcome.class);
+    private final Map<Outcome, Timer> detailTimers = new EnumMap<>(Outcome.class);
+
+    public MovieMetrics(MeterRegistry meterRegistry) {
+        for (Outcome outcome : Outcome.values()) {
+            searchTimers.put(outcome, Timer.builder("movies.search")
+                    .description("Search page lookups by the tier that answered them")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+            detailTimers.put(outcome, Timer.builder("movies.details")
+                    .description("Movie detail lookups by the tier that answered them")
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    public Lookup search() {
+        return new Lookup(searchTimers);
+    }
+
+    public Lookup details() {
+        return new Lookup(detailTimers);
+    }
+
+    // Prefetches, streams and batch entries note their source but aren't timed
+    public static Lookup untimed() {
+        return new Lookup(null);
+    }
+
+    public static final class Lookup {
+
+        private final Map<Outcome, Timer> timers;
+
+        // Paths that end at OMDb don't need to say so
+        private volatile Outcome outcome = Outcome.UPSTREAM_MISS;
+
+        private Lookup(Map<Outcome, Timer> timers) {
+            this.timers = timers;
+        }
+
+        public void answeredBy(Outcome outcome) {
+            this.outcome = outcome;
+        }
+
+        public Outcome outcome() {
+            return outcome;
+        }
+
+        // Times the lookup from subscription; a cancelled lookup isn't recorded
+        public <T> Mono<T> timed(Mono<T> lookup) {
+            if (timers == null) {
+                return lookup;
+            }
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return lookup
+                        .doOnSuccess(value -> record(outcome, start))
+                        .doOnError(e -> record(Outcome.ERROR, start));
+            });
+        }
+
+        private void record(Outcome outcome, long start) {
+            timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.Movie;
+import com.example.demo.repository.MovieRepository;
+import com.example.demo.repository.SearchQueryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Answers title searches from the movies already stored locally, using the full-text and
+ * trigram indexes on movies.title. Pages are OMDb-sized slices of one similarity ranking
+ * and carry the total number of local matches, so they page consistently among themselves.
+ * A search is only answered locally when enough titles match, otherwise OMDb pages it.
+ */
+@Service
+@Transactional(readOnly = true)
+public class MovieSearchIndex {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private SearchQueryRepository searchQueryRepository;
+
+    @Value("${search.local.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.local.min-results:10}")
+    private int minResults;
+
+    @Value("${search.local.min-similarity:0.6}")
+    private double minSimilarity;
+
+    // The page when enough stored titles match to answer the search without OMDb, else null
+    public MovieSearchResponseDto answer(String searchText, int page) {
+        if (!enabled) {
+            return null;
+        }
+
+        String tsQuery = toPrefixQuery(searchText);
+        if (tsQuery.isEmpty()) {
+            return null;
+        }
+
+        // A first page we hold from OMDb means OMDb pages this search, don't mix in local pages
+        if (page > 1 && searchQueryRepository.existsBySearchTextAndPage(searchText, 1)) {
+            return null;
+        }
+
+        String likePattern = escapeLike(searchText);
+        long totalResults = movieRepository.countByTitle(searchText, tsQuery, likePattern, minSimilarity);
+        if (totalResults < minResults) {
+            return null;
+        }
+        return toPage(searchText, tsQuery, likePattern, page, totalResults);
+    }
+
+    // Whatever matches locally, for streaming ahead of OMDb or while it's unavailable; null when nothing does
+    public MovieSearchResponseDto search(String searchText, int page) {
+        if (!enabled) {
+            return null;
+        }
+
+        String tsQuery = toPrefixQuery(searchText);
+        if (tsQuery.isEmpty()) {
+            return null;
+        }
+
+        String likePattern = escapeLike(searchText);
+        long totalResults = movieRepository.countByTitle(searchText, tsQuery, likePattern, minSimilarity);
+        if (totalResults == 0) {
+            return null;
+        }
+        return toPage(searchText, tsQuery, likePattern, page, totalResults);
+    }
+
+    private MovieSearchResponseDto toPage(String searchText, String tsQuery, String likePattern, int page, long totalResults) {
+        List<Movie> movies = movieRepository.searchByTitle(searchText, tsQuery, likePattern, minSimilarity,
+                MovieService.OMDB_PAGE_SIZE, (page - 1) * MovieService.OMDB_PAGE_SIZE);
+        if (movies.isEmpty()) {
+            return null;
+        }
+
+        List<MovieListItemDto> movieList = new ArrayList<>();
+        for (Movie movie : movies) {
+            movieList.add(new MovieListItemDto(
+                    movie.getTitle(),
+                    OmdbValues.formatYear(movie.getYearStart(), movie.getYearEnd()),
+                    movie.getImdbID(),
+                    movie.getType(),
+                    movie.getPoster()));
+        }
+
+        return new MovieSearchResponseDto(movieList, String.valueOf(totalResults), "True");
+    }
+
+    // "the matr" becomes "the:* & matr:*", every word matches as a prefix
+    private String toPrefixQuery(String searchText) {
+        return NON_WORD.splitAsStream(searchText.toLowerCase(Locale.ROOT))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    private String escapeLike(String searchText) {
+        return searchText.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
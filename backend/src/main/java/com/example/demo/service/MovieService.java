@@ -1,25 +1,48 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.MovieBatchResponseDto;
 import com.example.demo.dto.MovieDetailDto;
 import com.example.demo.dto.MovieListItemDto;
 import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.dto.SearchStreamEventDto;
 import com.example.demo.entity.Movie;
-import com.example.demo.entity.SearchQuery;
-import com.example.demo.entity.SearchResult;
 import com.example.demo.repository.MovieRepository;
+import com.example.demo.repository.SearchPageRow;
 import com.example.demo.repository.SearchQueryRepository;
+import com.example.demo.service.CacheFreshness.Freshness;
+import com.example.demo.service.MovieMetrics.Lookup;
+import com.example.demo.service.MovieMetrics.Outcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
-@Transactional
 public class MovieService {
 
+    private static final Logger log = LoggerFactory.getLogger(MovieService.class);
+
+    // OMDb returns 10 results per page and serves at most 100 pages
+    public static final int OMDB_PAGE_SIZE = 10;
+    public static final int OMDB_MAX_PAGE = 100;
+
     @Autowired
     private MovieRepository movieRepository;
 
@@ -29,140 +52,472 @@ public class MovieService {
     @Autowired
     private OmdbApiService omdbApiService;
 
-    public MovieSearchResponseDto searchMovies(String searchText) {
-        // Check if we have cached results
-        Optional<SearchQuery> cachedQuery = searchQueryRepository.findBySearchTextWithResults(searchText);
+    @Autowired
+    private MovieDetailCache movieDetailCache;
 
-        if (cachedQuery.isPresent()) {
-            // Return cached results
-            return buildResponseFromCache(cachedQuery.get());
-        }
+    @Autowired
+    private SharedMovieCache sharedMovieCache;
 
-        // Fetch from external API
-        MovieSearchResponseDto response = omdbApiService.searchMovies(searchText).block();
+    @Autowired
+    private MovieWriteBehind movieWriteBehind;
 
-        if (response != null && "True".equals(response.getResponse())) {
-            // Cache the results
-            cacheSearchResults(searchText, response);
-        }
+    @Autowired
+    private MovieSearchIndex movieSearchIndex;
 
-        return response;
+    @Autowired
+    private CacheFreshness cacheFreshness;
+
+    @Autowired
+    private NegativeResultCache negativeResultCache;
+
+    @Autowired
+    private MovieMetrics movieMetrics;
+
+    @Autowired
+    private Scheduler jdbcScheduler;
+
+    @Value("${search.prefetch-next-page:true}")
+    private boolean prefetchNextPage;
+
+    @Value("${movies.batch.fetch-concurrency:4}")
+    private int batchFetchConcurrency;
+
+    // Concurrent misses for the same key share one upstream fetch and one persist
+    private final SingleFlight<SearchQueryKey, MovieSearchResponseDto> searchFlights = new SingleFlight<>();
+    // Detail loads carry the tier that answered, so every caller sharing one is tagged alike
+    private final SingleFlight<String, Sourced<MovieDetailDto>> detailFlights = new SingleFlight<>();
+    // Background refreshes of stale details, kept apart from the lookups that trigger them
+    private final SingleFlight<String, MovieDetailDto> detailRefreshes = new SingleFlight<>();
+
+    public Mono<MovieSearchResponseDto> searchMovies(String searchText, int page) {
+        // Case and whitespace variants of a search share one cache entry, fetch and row
+        SearchQueryKey key = SearchQueryKey.of(searchText, page);
+        Lookup lookup = movieMetrics.search();
+
+        return lookup.timed(findSearchPage(key, OmdbPriority.SEARCH, lookup))
+                // Local pages aren't cached, reading the next one ahead would gain nothing
+                .doOnNext(response -> {
+                    if (lookup.outcome() != Outcome.LOCAL_MATCH) {
+                        prefetchNextPage(key, response);
+                    }
+                });
+    }
+
+    private Mono<MovieSearchResponseDto> findSearchPage(SearchQueryKey key, OmdbPriority priority, Lookup lookup) {
+        return findStoredPage(key, priority, lookup)
+                // Answer from titles we already hold when enough of them match, every page of
+                // such a search then comes from the same local ranking
+                .switchIfEmpty(onJdbc(() -> movieSearchIndex.answer(key.searchText(), key.page()))
+                        .doOnNext(response -> lookup.answeredBy(Outcome.LOCAL_MATCH)))
+                .switchIfEmpty(Mono.defer(() ->
+                        searchFlights.execute(key, () -> fetchAndCacheSearch(key, priority))
+                                .doOnNext(response -> lookup.answeredBy(Outcome.UPSTREAM_MISS))
+                                .onErrorResume(e -> priority != OmdbPriority.BACKGROUND
+                                        ? servingLocalMatches(key, e, lookup)
+                                        : Mono.error(e))));
     }
 
-    public MovieDetailDto getMovieById(String imdbId) {
-        // Check if we have cached movie details
-        Optional<Movie> cachedMovie = movieRepository.findById(imdbId);
+    // A page we already hold, pending write, known miss, cached or stored row, by its freshness
+    private Mono<MovieSearchResponseDto> findStoredPage(SearchQueryKey key, OmdbPriority priority, Lookup lookup) {
+        // Results that are still waiting in the write-behind queue count as cached
+        MovieSearchResponseDto pendingSearch = movieWriteBehind.getPendingSearch(key);
 
-        if (cachedMovie.isPresent() && cachedMovie.get().getPlot() != null) {
-            // Return cached movie details
-            return convertToDetailDto(cachedMovie.get());
+        if (pendingSearch != null) {
+            lookup.answeredBy(Outcome.L1_HIT);
+            return Mono.just(pendingSearch);
         }
 
-        // Fetch from external API
-        MovieDetailDto response = omdbApiService.getMovieById(imdbId).block();
+        MovieSearchResponseDto notFound = negativeResultCache.getSearch(key);
 
-        if (response != null && "True".equals(response.getResponse())) {
-            // Cache/Update the movie details
-            cacheMovieDetails(response);
+        if (notFound != null) {
+            lookup.answeredBy(Outcome.L1_HIT);
+            return Mono.just(notFound);
         }
 
-        return response;
+        MovieSearchResponseDto nearSearch = sharedMovieCache.getNearSearch(key);
+
+        if (nearSearch != null) {
+            lookup.answeredBy(Outcome.L1_HIT);
+            return Mono.just(nearSearch);
+        }
+
+        // Check the shared cache tier, then the stored results
+        return sharedMovieCache.getSearch(key)
+                .doOnNext(response -> lookup.answeredBy(Outcome.SHARED_HIT))
+                .switchIfEmpty(Mono.defer(() ->
+                onJdbc(() -> toCachedPage(searchQueryRepository.findPageRows(key.searchText(), key.page())))
+                .flatMap(cached -> switch (cached.freshness()) {
+                    case FRESH -> {
+                        // Let the other replicas find this page without going to the database
+                        sharedMovieCache.cacheSearch(key, cached.value(), cached.freshFor());
+                        lookup.answeredBy(Outcome.DB_HIT);
+                        yield Mono.just(cached.value());
+                    }
+                    case STALE -> {
+                        // Serve what we have now, the refresh replaces it for the next request
+                        refreshInBackground(searchFlights.execute(key,
+                                () -> fetchAndCacheSearch(key, OmdbPriority.BACKGROUND)), key);
+                        lookup.answeredBy(Outcome.DB_HIT);
+                        yield Mono.just(cached.value());
+                    }
+                    case EXPIRED -> searchFlights.execute(key, () -> fetchAndCacheSearch(key, priority))
+                            .doOnNext(response -> lookup.answeredBy(Outcome.UPSTREAM_MISS))
+                            .onErrorResume(e -> servingExpired(cached.value(), key, e, lookup));
+                })));
     }
 
-    private MovieSearchResponseDto buildResponseFromCache(SearchQuery searchQuery) {
-        List<MovieListItemDto> movieList = new ArrayList<>();
+    /**
+     * Streams a search page: a stored page, or one answered from local titles the way
+     * searchMovies would, is sent whole. Otherwise local title matches are sent as soon as
+     * they are found while OMDb is asked in parallel, followed by the OMDb results not sent
+     * yet. The last event carries the totals.
+     */
+    public Flux<SearchStreamEventDto> streamSearch(String searchText, int page) {
+        SearchQueryKey key = SearchQueryKey.of(searchText, page);
+
+        return findStoredPage(key, OmdbPriority.SEARCH, MovieMetrics.untimed())
+                .doOnNext(response -> prefetchNextPage(key, response))
+                .map(response -> Flux.just(
+                        new SearchStreamEventDto("cache", itemsOf(response)),
+                        completeEvent(response, itemsOf(response).size())))
+                .switchIfEmpty(onJdbc(() -> movieSearchIndex.answer(key.searchText(), key.page()))
+                        .map(response -> Flux.just(
+                                new SearchStreamEventDto("local", itemsOf(response)),
+                                completeEvent(response, itemsOf(response).size()))))
+                .switchIfEmpty(Mono.fromSupplier(() -> streamLocalThenUpstream(key)))
+                .flatMapMany(events -> events);
+    }
+
+    private Flux<SearchStreamEventDto> streamLocalThenUpstream(SearchQueryKey key) {
+        Flux<SearchStreamEventDto> local = key.page() == 1
+                ? onJdbc(() -> movieSearchIndex.search(key.searchText(), 1))
+                        .map(response -> new SearchStreamEventDto("local", itemsOf(response)))
+                        .flux()
+                : Flux.empty();
+
+        Flux<SearchStreamEventDto> upstream = searchFlights.execute(key, () -> fetchAndCacheSearch(key, OmdbPriority.SEARCH))
+                .doOnNext(response -> prefetchNextPage(key, response))
+                .flatMapMany(response -> Flux.just(
+                        new SearchStreamEventDto("omdb", itemsOf(response)),
+                        completeEvent(response, 0)))
+                .onErrorResume(e -> {
+                    log.warn("OMDb unavailable for {}, closing the stream with local results: {}", key, e.toString());
+                    return Mono.just(new SearchStreamEventDto(null, 0, "False", "OMDb unavailable"));
+                });
+
+        return Flux.defer(() -> {
+            // Movies already sent by this stream, OMDb's batch only carries the rest
+            Set<String> streamed = new HashSet<>();
+
+            // Both lookups start at once, their events still go out local first
+            return Flux.mergeSequential(local, upstream)
+                    .map(event -> {
+                        if (SearchStreamEventDto.COMPLETE.equals(event.getType())) {
+                            event.setStreamed(streamed.size());
+                            return event;
+                        }
+                        event.setMovies(event.getMovies().stream()
+                                .filter(movie -> streamed.add(movie.getImdbID()))
+                                .toList());
+                        return event;
+                    })
+                    .filter(event -> event.getMovies() == null || !event.getMovies().isEmpty());
+        });
+    }
+
+    private List<MovieListItemDto> itemsOf(MovieSearchResponseDto response) {
+        return response.getSearch() != null ? response.getSearch() : List.of();
+    }
 
-        for (SearchResult result : searchQuery.getSearchResults()) {
-            Movie movie = result.getMovie();
-            movieList.add(new MovieListItemDto(
-                    movie.getTitle(),
-                    movie.getYear(),
-                    movie.getImdbID(),
-                    movie.getType(),
-                    movie.getPoster()));
+    private SearchStreamEventDto completeEvent(MovieSearchResponseDto response, int streamed) {
+        return new SearchStreamEventDto(response.getTotalResults(), streamed, response.getResponse(), response.getError());
+    }
+
+    // Warms the following page in the background so that paging forward doesn't wait on OMDb
+    private void prefetchNextPage(SearchQueryKey key, MovieSearchResponseDto response) {
+        if (!prefetchNextPage || !"True".equals(response.getResponse())
+                || key.page() >= OMDB_MAX_PAGE || key.page() * OMDB_PAGE_SIZE >= parseTotalResults(response)) {
+            return;
         }
 
-        return new MovieSearchResponseDto(
-                movieList,
-                searchQuery.getTotalResults(),
-                searchQuery.getResponse() ? "True" : "False");
+        findSearchPage(key.next(), OmdbPriority.BACKGROUND, MovieMetrics.untimed()).subscribe(
+                next -> { },
+                e -> log.debug("Prefetch of page {} for '{}' failed", key.page() + 1, key.searchText(), e));
     }
 
-    private void cacheSearchResults(String searchText, MovieSearchResponseDto response) {
-        SearchQuery searchQuery = new SearchQuery(searchText, response.getTotalResults(), true);
-        searchQuery = searchQueryRepository.save(searchQuery);
+    private int parseTotalResults(MovieSearchResponseDto response) {
+        Integer totalResults = OmdbValues.parseCount(response.getTotalResults());
+        return totalResults != null ? totalResults : 0;
+    }
 
-        List<SearchResult> searchResults = new ArrayList<>();
+    private Mono<MovieSearchResponseDto> fetchAndCacheSearch(SearchQueryKey key, OmdbPriority priority) {
+        // Fetch from external API
+        return omdbApiService.searchMovies(key.searchText(), key.page(), priority)
+                .flatMap(response -> {
+                    if (!"True".equals(response.getResponse())) {
+                        negativeResultCache.putSearch(key, response);
+                        return Mono.just(response);
+                    }
+
+                    sharedMovieCache.replaceSearch(key, response, cacheFreshness.remainingSearchFreshness(LocalDateTime.now()));
+
+                    // Cache the results behind the response, or inline when the queue pushes back
+                    if (movieWriteBehind.enqueueSearch(key, response)) {
+                        return Mono.just(response);
+                    }
+
+                    return onJdbc(() -> {
+                        movieWriteBehind.writeSearch(key, response);
+                        return response;
+                    });
+                });
+    }
 
-        if (response.getSearch() != null) {
-            for (MovieListItemDto movieItem : response.getSearch()) {
-                // Validate required fields before saving
-                if (movieItem.getImdbID() == null || movieItem.getImdbID().trim().isEmpty() ||
-                        movieItem.getTitle() == null || movieItem.getTitle().trim().isEmpty()) {
-                    continue; // Skip invalid movies
-                }
+    public Mono<MovieDetailDto> getMovieById(String imdbId) {
+        Lookup lookup = movieMetrics.details();
 
-                // Save or update movie
-                Movie movie = movieRepository.findById(movieItem.getImdbID())
-                        .orElse(new Movie());
+        // Check the in-memory cache first
+        MovieDetailDto cachedDetail = movieDetailCache.get(imdbId);
 
-                movie.setImdbID(movieItem.getImdbID().trim());
-                movie.setTitle(movieItem.getTitle().trim());
-                movie.setYear(movieItem.getYear() != null ? movieItem.getYear().trim() : "N/A");
-                movie.setType(movieItem.getType());
-                movie.setPoster(movieItem.getPoster() != null ? movieItem.getPoster().trim() : "");
+        if (cachedDetail != null) {
+            lookup.answeredBy(Outcome.L1_HIT);
+            return lookup.timed(Mono.just(cachedDetail));
+        }
 
-                movie = movieRepository.save(movie);
+        MovieDetailDto notFound = negativeResultCache.getMovieDetails(imdbId);
 
-                // Create search result
-                SearchResult searchResult = new SearchResult(searchQuery, movie);
-                searchResults.add(searchResult);
-            }
+        if (notFound != null) {
+            lookup.answeredBy(Outcome.L1_HIT);
+            return lookup.timed(Mono.just(notFound));
         }
 
-        searchQuery.setSearchResults(searchResults);
-        searchQueryRepository.save(searchQuery);
+        return lookup.timed(detailFlights.execute(imdbId, () -> loadMovieDetail(imdbId))
+                .doOnNext(sourced -> lookup.answeredBy(sourced.outcome()))
+                .map(Sourced::value));
     }
 
-    private void cacheMovieDetails(MovieDetailDto movieDetail) {
-        // Validate required fields
-        if (movieDetail.getImdbID() == null || movieDetail.getImdbID().trim().isEmpty() ||
-                movieDetail.getTitle() == null || movieDetail.getTitle().trim().isEmpty()) {
-            return; // Don't cache invalid movies
+    private Mono<Sourced<MovieDetailDto>> loadMovieDetail(String imdbId) {
+        Lookup lookup = MovieMetrics.untimed();
+
+        // Check the shared cache tier, then stored movie details; rows only listed by a search don't count
+        return sharedMovieCache.getMovieDetails(imdbId)
+                .doOnNext(movieDetail -> lookup.answeredBy(Outcome.SHARED_HIT))
+                .switchIfEmpty(Mono.defer(() -> onJdbc(() -> movieRepository.findById(imdbId)
+                                .filter(movie -> movie.getDetailsUpdatedAt() != null)
+                                .map(this::toCachedDetail)
+                                .orElse(null))
+                        .flatMap(cached -> serveStoredDetail(imdbId, cached, OmdbPriority.INTERACTIVE, lookup))))
+                .switchIfEmpty(Mono.defer(() -> fetchAndCacheMovieDetails(imdbId, OmdbPriority.INTERACTIVE)))
+                .map(movieDetail -> new Sourced<>(movieDetail, lookup.outcome()));
+    }
+
+    private Cached<MovieDetailDto> toCachedDetail(Movie movie) {
+        return new Cached<>(convertToDetailDto(movie),
+                cacheFreshness.ofMovieDetails(movie.getDetailsUpdatedAt()),
+                cacheFreshness.remainingMovieDetailsFreshness(movie.getDetailsUpdatedAt()));
+    }
+
+    private Mono<MovieDetailDto> serveStoredDetail(String imdbId, Cached<MovieDetailDto> cached, OmdbPriority priority,
+                                                   Lookup lookup) {
+        return switch (cached.freshness()) {
+            case FRESH -> {
+                // Keep database hits in memory and in the shared tier for the next request
+                sharedMovieCache.cacheMovieDetails(imdbId, cached.value(), cached.freshFor());
+                lookup.answeredBy(Outcome.DB_HIT);
+                yield Mono.just(cached.value());
+            }
+            case STALE -> {
+                refreshInBackground(detailRefreshes.execute(imdbId,
+                        () -> fetchAndCacheMovieDetails(imdbId, OmdbPriority.BACKGROUND)), imdbId);
+                lookup.answeredBy(Outcome.DB_HIT);
+                yield Mono.just(cached.value());
+            }
+            case EXPIRED -> fetchAndCacheMovieDetails(imdbId, priority)
+                    .doOnNext(movieDetail -> lookup.answeredBy(Outcome.UPSTREAM_MISS))
+                    .onErrorResume(e -> servingExpired(cached.value(), imdbId, e, lookup));
+        };
+    }
+
+    /**
+     * Resolves many imdbIDs at once: memory first, then one query for everything stored,
+     * then OMDb for the rest with bounded concurrency. IDs that can't be resolved are
+     * reported in the errors map instead of failing the batch.
+     */
+    public Mono<MovieBatchResponseDto> getMoviesByIds(Collection<String> requestedIds) {
+        // Drop blanks and repeats, the answer keeps the request order
+        List<String> imdbIds = requestedIds.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(imdbId -> !imdbId.isEmpty())
+                .distinct()
+                .toList();
+
+        Map<String, BatchEntry> entries = new HashMap<>();
+        List<String> toLoad = new ArrayList<>();
+        for (String imdbId : imdbIds) {
+            MovieDetailDto known = movieDetailCache.get(imdbId);
+            if (known == null) {
+                known = negativeResultCache.getMovieDetails(imdbId);
+            }
+
+            if (known != null) {
+                entries.put(imdbId, new BatchEntry(imdbId, known, null));
+            } else {
+                toLoad.add(imdbId);
+            }
         }
 
-        Movie movie = movieRepository.findById(movieDetail.getImdbID())
-                .orElse(new Movie());
+        // Detail badges on a list page rank with searches, not with a user opening one movie
+        return onJdbc(() -> movieRepository.findAllById(toLoad).stream()
+                        .filter(movie -> movie.getDetailsUpdatedAt() != null)
+                        .collect(Collectors.toMap(Movie::getImdbID, this::toCachedDetail)))
+                .flatMapMany(stored -> Flux.fromIterable(toLoad)
+                        .flatMap(imdbId -> {
+                            Cached<MovieDetailDto> cached = stored.get(imdbId);
+                            Mono<MovieDetailDto> detail = cached != null
+                                    ? serveStoredDetail(imdbId, cached, OmdbPriority.SEARCH, MovieMetrics.untimed())
+                                    : detailFlights.execute(imdbId,
+                                                    () -> fetchAndCacheMovieDetails(imdbId, OmdbPriority.SEARCH)
+                                                            .map(movieDetail -> new Sourced<>(movieDetail, Outcome.UPSTREAM_MISS)))
+                                            .map(Sourced::value);
+
+                            return detail
+                                    .map(movieDetail -> new BatchEntry(imdbId, movieDetail, null))
+                                    .onErrorResume(e -> {
+                                        log.warn("Batch lookup of {} failed: {}", imdbId, e.toString());
+                                        return Mono.just(new BatchEntry(imdbId, null, describeFailure(e)));
+                                    });
+                        }, batchFetchConcurrency))
+                .doOnNext(entry -> entries.put(entry.imdbId(), entry))
+                .then(Mono.fromSupplier(() -> {
+                    MovieBatchResponseDto response = new MovieBatchResponseDto();
+                    for (String imdbId : imdbIds) {
+                        BatchEntry entry = entries.get(imdbId);
+                        if (entry == null) {
+                            response.getErrors().put(imdbId, "Movie not found!");
+                        } else if (entry.error() != null) {
+                            response.getErrors().put(imdbId, entry.error());
+                        } else if ("True".equals(entry.detail().getResponse())) {
+                            response.getMovies().put(imdbId, entry.detail());
+                        } else {
+                            response.getErrors().put(imdbId,
+                                    entry.detail().getError() != null ? entry.detail().getError() : "Movie not found!");
+                        }
+                    }
+                    return response;
+                }));
+    }
+
+    private String describeFailure(Throwable e) {
+        return e instanceof OmdbQuotaExceededException ? "OMDb quota exhausted" : "OMDb unavailable";
+    }
+
+    private Mono<MovieDetailDto> fetchAndCacheMovieDetails(String imdbId, OmdbPriority priority) {
+        // Fetch from external API
+        return omdbApiService.getMovieById(imdbId, priority)
+                .flatMap(response -> {
+                    if (!"True".equals(response.getResponse())) {
+                        negativeResultCache.putMovieDetails(imdbId, response);
+                        return Mono.just(response);
+                    }
+
+                    // Serve the fetched details from memory and the shared tier until the writer has stored them
+                    sharedMovieCache.replaceMovieDetails(imdbId, response,
+                            cacheFreshness.remainingMovieDetailsFreshness(LocalDateTime.now()));
+
+                    // Cache/Update the movie details behind the response, or inline when the queue pushes back
+                    if (movieWriteBehind.enqueueMovieDetails(response)) {
+                        return Mono.just(response);
+                    }
+
+                    return onJdbc(() -> {
+                        movieWriteBehind.writeMovieDetails(response);
+                        return response;
+                    });
+                });
+    }
+
+    private void refreshInBackground(Mono<?> refresh, Object key) {
+        refresh.subscribe(
+                refreshed -> { },
+                e -> log.warn("Background refresh of {} failed, keeping the stale entry: {}", key, e.toString()));
+    }
+
+    // When OMDb is failing or its circuit is open, an outdated answer beats no answer
+    private <T> Mono<T> servingExpired(T expired, Object key, Throwable e, Lookup lookup) {
+        log.warn("OMDb unavailable for {}, serving the expired entry: {}", key, e.toString());
+        lookup.answeredBy(Outcome.DB_HIT);
+        return Mono.just(expired);
+    }
 
-        movie.setImdbID(movieDetail.getImdbID().trim());
-        movie.setTitle(movieDetail.getTitle().trim());
-        movie.setYear(movieDetail.getYear() != null ? movieDetail.getYear().trim() : "N/A");
-        movie.setType(movieDetail.getType());
-        movie.setPoster(movieDetail.getPoster() != null ? movieDetail.getPoster().trim() : "");
-        movie.setPlot(movieDetail.getPlot() != null ? movieDetail.getPlot().trim() : "");
-        movie.setDirector(movieDetail.getDirector() != null ? movieDetail.getDirector().trim() : "");
-        movie.setActors(movieDetail.getActors() != null ? movieDetail.getActors().trim() : "");
-        movie.setRuntime(movieDetail.getRuntime() != null ? movieDetail.getRuntime().trim() : "");
-        movie.setGenre(movieDetail.getGenre() != null ? movieDetail.getGenre().trim() : "");
-        movie.setImdbRating(movieDetail.getImdbRating() != null ? movieDetail.getImdbRating().trim() : "");
+    // Out of quota or OMDb down with nothing stored for the page: offer the same page of local
+    // title matches, with their own total so that paging through them stays consistent
+    private Mono<MovieSearchResponseDto> servingLocalMatches(SearchQueryKey key, Throwable e, Lookup lookup) {
+        log.warn("OMDb unavailable for {}, answering from local titles: {}", key, e.toString());
+        return onJdbc(() -> movieSearchIndex.search(key.searchText(), key.page()))
+                .doOnNext(response -> lookup.answeredBy(Outcome.LOCAL_MATCH))
+                .switchIfEmpty(Mono.error(e));
+    }
+
+    // Runs blocking JPA work on the bounded JDBC scheduler. Every lookup here is a single
+    // repository call in its own read-only transaction, which a replica can serve
+    private <T> Mono<T> onJdbc(Supplier<T> work) {
+        return Mono.fromCallable(work::get).subscribeOn(jdbcScheduler);
+    }
+
+    // Null when the page isn't stored
+    private Cached<MovieSearchResponseDto> toCachedPage(List<SearchPageRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+
+        List<MovieListItemDto> movieList = new ArrayList<>();
+        for (SearchPageRow row : rows) {
+            if (row.imdbID() != null) {
+                movieList.add(new MovieListItemDto(
+                        row.title(),
+                        OmdbValues.formatYear(row.yearStart(), row.yearEnd()),
+                        row.imdbID(),
+                        row.type(),
+                        row.poster()));
+            }
+        }
 
-        movieRepository.save(movie);
+        SearchPageRow page = rows.get(0);
+        MovieSearchResponseDto response = new MovieSearchResponseDto(
+                movieList,
+                OmdbValues.formatCount(page.totalResults()),
+                page.response() ? "True" : "False");
+        return new Cached<>(response,
+                cacheFreshness.ofSearch(page.updatedAt()),
+                cacheFreshness.remainingSearchFreshness(page.updatedAt()));
     }
 
     private MovieDetailDto convertToDetailDto(Movie movie) {
         MovieDetailDto dto = new MovieDetailDto();
         dto.setTitle(movie.getTitle());
-        dto.setYear(movie.getYear());
+        dto.setYear(OmdbValues.formatYear(movie.getYearStart(), movie.getYearEnd()));
         dto.setImdbID(movie.getImdbID());
         dto.setType(movie.getType());
         dto.setPoster(movie.getPoster());
         dto.setPlot(movie.getPlot());
         dto.setDirector(movie.getDirector());
-        dto.setActors(movie.getActors());
-        dto.setRuntime(movie.getRuntime());
-        dto.setGenre(movie.getGenre());
-        dto.setImdbRating(movie.getImdbRating());
+        dto.setActors(OmdbValues.formatList(movie.getActors()));
+        dto.setRuntime(OmdbValues.formatRuntime(movie.getRuntimeMinutes()));
+        dto.setGenre(OmdbValues.formatList(movie.getGenres()));
+        dto.setImdbRating(OmdbValues.formatRating(movie.getImdbRatingX10()));
         dto.setResponse("True");
         return dto;
     }
-}
\ No newline at end of file
+
+    private record BatchEntry(String imdbId, MovieDetailDto detail, String error) {
+    }
+
+    // A stored entry along with how fresh it was when it was read, and for how much longer
+    private record Cached<T>(T value, Freshness freshness, Duration freshFor) {
+    }
+
+    // A loaded value and the tier that answered it
+    private record Sourced<T>(T value, Outcome outcome) {
+    }
+}
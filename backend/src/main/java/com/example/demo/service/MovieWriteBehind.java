@@ -0,0 +1,232 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind stage for OMDb results: requests enqueue what they fetched and return,
+ * a dedicated writer thread drains the bounded queue and persists coalesced batches
+ * through {@link MovieCacheWriter}. When the queue is full the caller writes inline.
+ */
+@Component
+public class MovieWriteBehind implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MovieWriteBehind.class);
+
+    @Value("${write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${write-behind.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${write-behind.max-delay:100ms}")
+    private Duration maxDelay;
+
+    @Autowired
+    private MovieCacheWriter movieCacheWriter;
+
+    @Autowired
+    private SharedMovieCache sharedMovieCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingWrite> queue;
+
+    // Searches accepted but not yet flushed, so repeated searches don't go back upstream
+    private final ConcurrentMap<SearchQueryKey, MovieSearchResponseDto> pendingSearches = new ConcurrentHashMap<>();
+
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // Database write time of queued batches and of writes done inline by the caller
+    private Timer batchWrites;
+    private Timer inlineWrites;
+
+    @Override
+    public void afterPropertiesSet() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        registerMeters();
+        running = true;
+        writerThread = new Thread(this::drainLoop, "movie-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        // Let the writer drain what is already queued before the datasource goes away
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    public boolean enqueueSearch(SearchQueryKey key, MovieSearchResponseDto response) {
+        // Register before offering, the writer may flush (and unregister) the entry right away
+        pendingSearches.put(key, response);
+        if (!queue.offer(new PendingWrite(key, response, null))) {
+            pendingSearches.remove(key, response);
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public boolean enqueueMovieDetails(MovieDetailDto movieDetail) {
+        if (!queue.offer(new PendingWrite(null, null, movieDetail))) {
+            rejectedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public MovieSearchResponseDto getPendingSearch(SearchQueryKey key) {
+        return pendingSearches.get(key);
+    }
+
+    // Synchronous fallbacks used when the queue pushes back
+    public void writeSearch(SearchQueryKey key, MovieSearchResponseDto response) {
+        flush(List.of(new PendingWrite(key, response, null)), inlineWrites);
+    }
+
+    public void writeMovieDetails(MovieDetailDto movieDetail) {
+        flush(List.of(new PendingWrite(null, null, movieDetail)), inlineWrites);
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // Give concurrent misses a short window to join the same batch
+                List<PendingWrite> batch = new ArrayList<>();
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelay.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    PendingWrite next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+
+                flush(batch, batchWrites);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind flush failed", e);
+            }
+        }
+    }
+
+    private void flush(List<PendingWrite> batch, Timer writes) {
+        // Dedupe: the latest result per search page and the latest details per imdbID win
+        Map<SearchQueryKey, MovieSearchResponseDto> searches = new LinkedHashMap<>();
+        Map<String, MovieDetailDto> movieDetails = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            if (write.movieDetail() != null) {
+                movieDetails.put(write.movieDetail().getImdbID(), write.movieDetail());
+            } else {
+                searches.put(write.searchKey(), write.search());
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            write(searches, movieDetails);
+        } catch (RuntimeException e) {
+            // Retry one entry at a time so a single bad row doesn't drop the whole batch
+            log.warn("Write-behind batch of {} entries failed, retrying individually: {}", batch.size(), e.getMessage());
+            searches.forEach((key, response) -> writeIsolated(Collections.singletonMap(key, response), Map.of()));
+            movieDetails.forEach((imdbId, movieDetail) -> writeIsolated(Map.of(), Collections.singletonMap(imdbId, movieDetail)));
+        } finally {
+            // Every queued response for a page is stored or dropped now, not just the one kept
+            for (PendingWrite write : batch) {
+                if (write.searchKey() != null) {
+                    pendingSearches.remove(write.searchKey(), write.search());
+                }
+            }
+            writes.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        log.debug("Flushed {} searches and {} movie details ({} queued)", searches.size(), movieDetails.size(), queue.size());
+    }
+
+    private void writeIsolated(Map<SearchQueryKey, MovieSearchResponseDto> searches, Map<String, MovieDetailDto> movieDetails) {
+        try {
+            write(searches, movieDetails);
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+            log.error("Dropping write-behind entry {}", searches.isEmpty() ? movieDetails.keySet() : searches.keySet(), e);
+        }
+    }
+
+    private void write(Map<SearchQueryKey, MovieSearchResponseDto> searches, Map<String, MovieDetailDto> movieDetails) {
+        // Cached details, here and on the other replicas, may now disagree with the
+        // list-level fields that were just stored
+        sharedMovieCache.evictMovieDetails(movieCacheWriter.write(searches, movieDetails));
+        writtenCount.addAndGet(searches.size() + movieDetails.size());
+    }
+
+    private void registerMeters() {
+        batchWrites = writeTimer("batch");
+        inlineWrites = writeTimer("inline");
+
+        Gauge.builder("movies.write-behind.queue", queue, BlockingQueue::size)
+                .description("OMDb results waiting to be written")
+                .register(meterRegistry);
+        // Rejected entries were written inline, failed ones dropped after their isolated retry
+        writeCounter("written", writtenCount);
+        writeCounter("failed", failedCount);
+        writeCounter("rejected", rejectedCount);
+    }
+
+    private Timer writeTimer(String mode) {
+        return Timer.builder("movies.db.writes")
+                .description("Database time of write-behind flushes")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    private void writeCounter(String result, AtomicLong count) {
+        FunctionCounter.builder("movies.write-behind.entries", count, AtomicLong::get)
+                .description("Searches and movie details handled by the write-behind stage")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record PendingWrite(SearchQueryKey searchKey, MovieSearchResponseDto search, MovieDetailDto movieDetail) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Short-lived memory of OMDb answers that a search or ID has no result, so repeated
+ * requests for titles that don't exist are answered without going upstream. Only
+ * definitive answers are kept, never quota or key errors that may clear up on retry.
+ */
+@Component
+public class NegativeResultCache {
+
+    private static final Set<String> CACHEABLE_ERRORS = Set.of(
+            "Movie not found!",
+            "Series not found!",
+            "Episode not found!",
+            "Incorrect IMDb ID.",
+            "Too many results.");
+
+    private final Cache cache;
+
+    public NegativeResultCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.NEGATIVE_RESULTS);
+    }
+
+    public MovieSearchResponseDto getSearch(SearchQueryKey key) {
+        return cache.get(key, MovieSearchResponseDto.class);
+    }
+
+    public void putSearch(SearchQueryKey key, MovieSearchResponseDto response) {
+        if (isCacheable(response.getResponse(), response.getError())) {
+            cache.put(key, response);
+        }
+    }
+
+    public MovieDetailDto getMovieDetails(String imdbId) {
+        MovieDetailDto snapshot = cache.get(imdbId, MovieDetailDto.class);
+        return snapshot != null ? new MovieDetailDto(snapshot) : null;
+    }
+
+    public void putMovieDetails(String imdbId, MovieDetailDto response) {
+        if (isCacheable(response.getResponse(), response.getError())) {
+            cache.put(imdbId, new MovieDetailDto(response));
+        }
+    }
+
+    private boolean isCacheable(String response, String error) {
+        return "False".equals(response) && CACHEABLE_ERRORS.contains(error);
+    }
+}
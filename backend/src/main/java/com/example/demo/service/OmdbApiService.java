@@ -2,37 +2,143 @@ package com.example.demo.service;
 
 import com.example.demo.dto.MovieDetailDto;
 import com.example.demo.dto.MovieSearchResponseDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client for the OMDb API. Every call runs through the {@code omdb} bulkhead, circuit
+ * breaker and retry (configured under {@code resilience4j.*}) and is bounded by an overall
+ * deadline, so a slow or failing OMDb surfaces as a quick error instead of piling up calls.
+ * Each attempt also spends a token from the {@link OmdbQuota} at the caller's priority.
+ * Calls are timed as a whole, retries included, under {@code omdb.api.calls}; single
+ * attempts show up as WebClient's {@code http.client.requests}.
+ */
 @Service
 public class OmdbApiService {
 
+    public static final String RESILIENCE_INSTANCE = "omdb";
+
     private final WebClient webClient;
 
-    @Value("${omdb.api.url:http://www.omdbapi.com/}")
-    private String omdbApiUrl;
+    private final OmdbQuota omdbQuota;
+
+    private final OmdbJsonDecoder omdbJsonDecoder;
+
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Retry retry;
 
-    @Value("${omdb.api.key:30ba7fc1}")
-    private String omdbApiKey;
+    private final CallTimers searchCalls;
+    private final CallTimers detailCalls;
 
-    public OmdbApiService(WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.build();
+    // Parsed and encoded once, each call only expands its own variables
+    private final UriComponents searchUri;
+    private final UriComponents detailUri;
+
+    // Upper bound for a call including its retries, each attempt is bounded by the response timeout
+    @Value("${omdb.api.deadline:8s}")
+    private Duration deadline;
+
+    public OmdbApiService(WebClient omdbWebClient,
+                          BulkheadRegistry bulkheadRegistry,
+                          CircuitBreakerRegistry circuitBreakerRegistry,
+                          RetryRegistry retryRegistry,
+                          OmdbQuota omdbQuota,
+                          OmdbJsonDecoder omdbJsonDecoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${omdb.api.url:http://www.omdbapi.com/}") String omdbApiUrl,
+                          @Value("${omdb.api.key:30ba7fc1}") String omdbApiKey) {
+        this.webClient = omdbWebClient;
+        this.searchUri = UriComponentsBuilder.fromHttpUrl(omdbApiUrl)
+                .queryParam("apikey", omdbApiKey)
+                .queryParam("s", "{searchText}")
+                .queryParam("page", "{page}")
+                .encode()
+                .build();
+        this.detailUri = UriComponentsBuilder.fromHttpUrl(omdbApiUrl)
+                .queryParam("apikey", omdbApiKey)
+                .queryParam("i", "{imdbId}")
+                .encode()
+                .build();
+        this.omdbQuota = omdbQuota;
+        this.omdbJsonDecoder = omdbJsonDecoder;
+        this.bulkhead = bulkheadRegistry.bulkhead(RESILIENCE_INSTANCE);
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(RESILIENCE_INSTANCE);
+        this.retry = retryRegistry.retry(RESILIENCE_INSTANCE);
+        this.searchCalls = new CallTimers(meterRegistry, "search");
+        this.detailCalls = new CallTimers(meterRegistry, "details");
     }
 
-    public Mono<MovieSearchResponseDto> searchMovies(String searchText) {
-        return webClient.get()
-                .uri(omdbApiUrl + "?apikey={apiKey}&s={searchText}", omdbApiKey, searchText)
+    public Mono<MovieSearchResponseDto> searchMovies(String searchText, int page, OmdbPriority priority) {
+        return resilient(priority, searchCalls, webClient.get()
+                .uri(searchUri.expand(searchText, page).toUri())
                 .retrieve()
-                .bodyToMono(MovieSearchResponseDto.class);
+                .bodyToFlux(DataBuffer.class)
+                .as(omdbJsonDecoder::decodeSearch));
     }
 
-    public Mono<MovieDetailDto> getMovieById(String imdbId) {
-        return webClient.get()
-                .uri(omdbApiUrl + "?apikey={apiKey}&i={imdbId}", omdbApiKey, imdbId)
+    public Mono<MovieDetailDto> getMovieById(String imdbId, OmdbPriority priority) {
+        return resilient(priority, detailCalls, webClient.get()
+                .uri(detailUri.expand(imdbId).toUri())
                 .retrieve()
-                .bodyToMono(MovieDetailDto.class);
+                .bodyToFlux(DataBuffer.class)
+                .as(omdbJsonDecoder::decodeMovieDetail));
+    }
+
+    // Each attempt takes a bulkhead slot, then a quota token, and only the call behind the
+    // slot is recorded by the breaker; retries wrap all of it. A full bulkhead is our own
+    // saturation and the breaker ignores quota rejections, neither says OMDb is failing.
+    private <T> Mono<T> resilient(OmdbPriority priority, CallTimers timers, Mono<T> call) {
+        return omdbQuota.acquire(priority)
+                .then(call)
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(RetryOperator.of(retry))
+                .timeout(deadline)
+                .transform(timers::timed);
+    }
+
+    // Quota rejections, open circuits and deadlines all count as failed calls
+    private record CallTimers(Timer succeeded, Timer failed) {
+
+        CallTimers(MeterRegistry meterRegistry, String operation) {
+            this(timer(meterRegistry, operation, "success"), timer(meterRegistry, operation, "error"));
+        }
+
+        <T> Mono<T> timed(Mono<T> call) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return call
+                        .doOnSuccess(response -> succeeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                        .doOnError(e -> failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+            });
+        }
+
+        private static Timer timer(MeterRegistry meterRegistry, String operation, String outcome) {
+            return Timer.builder("omdb.api.calls")
+                    .description("OMDb calls including retries")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
     }
-}
\ No newline at end of file
+}
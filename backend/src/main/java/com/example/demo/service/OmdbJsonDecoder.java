@@ -0,0 +1,253 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.MovieType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Decodes OMDb responses as their bytes arrive. Each network buffer is fed to Jackson's
+ * non-blocking parser and released right away, and every token is written straight into
+ * the DTO it belongs to. Values are trimmed on the way in, list items without an imdbID
+ * or title are dropped, and fields we don't use (Ratings and the like) are skipped
+ * without being materialized.
+ */
+@Component
+public class OmdbJsonDecoder {
+
+    private static final Map<String, BiConsumer<MovieListItemDto, String>> ITEM_FIELDS = Map.of(
+            "Title", MovieListItemDto::setTitle,
+            "Year", MovieListItemDto::setYear,
+            "imdbID", MovieListItemDto::setImdbID,
+            "Type", (item, value) -> item.setType(toMovieType(value)),
+            "Poster", MovieListItemDto::setPoster);
+
+    private static final Map<String, BiConsumer<MovieSearchResponseDto, String>> SEARCH_FIELDS = Map.of(
+            "totalResults", MovieSearchResponseDto::setTotalResults,
+            "Response", MovieSearchResponseDto::setResponse,
+            "Error", MovieSearchResponseDto::setError);
+
+    private static final Map<String, BiConsumer<MovieDetailDto, String>> DETAIL_FIELDS = Map.ofEntries(
+            Map.entry("Title", MovieDetailDto::setTitle),
+            Map.entry("Year", MovieDetailDto::setYear),
+            Map.entry("imdbID", MovieDetailDto::setImdbID),
+            Map.entry("Type", (detail, value) -> detail.setType(toMovieType(value))),
+            Map.entry("Poster", MovieDetailDto::setPoster),
+            Map.entry("Plot", MovieDetailDto::setPlot),
+            Map.entry("Director", MovieDetailDto::setDirector),
+            Map.entry("Actors", MovieDetailDto::setActors),
+            Map.entry("Runtime", MovieDetailDto::setRuntime),
+            Map.entry("Genre", MovieDetailDto::setGenre),
+            Map.entry("imdbRating", MovieDetailDto::setImdbRating),
+            Map.entry("Response", MovieDetailDto::setResponse),
+            Map.entry("Error", MovieDetailDto::setError));
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public Mono<MovieSearchResponseDto> decodeSearch(Flux<DataBuffer> body) {
+        return decode(body, SearchHandler::new);
+    }
+
+    public Mono<MovieDetailDto> decodeMovieDetail(Flux<DataBuffer> body) {
+        return decode(body, DetailHandler::new);
+    }
+
+    private <T> Mono<T> decode(Flux<DataBuffer> body, Supplier<TokenHandler<T>> handlerFactory) {
+        return Mono.defer(() -> {
+            JsonParser parser = createParser();
+            ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            TokenHandler<T> handler = handlerFactory.get();
+
+            return body
+                    .doOnNext(buffer -> {
+                        try (DataBuffer.ByteBufferIterator chunks = buffer.readableByteBuffers()) {
+                            while (chunks.hasNext()) {
+                                feed(feeder, chunks.next());
+                                drain(parser, handler);
+                            }
+                        } finally {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .then(Mono.fromCallable(() -> {
+                        feeder.endOfInput();
+                        drain(parser, handler);
+                        return handler.result();
+                    }))
+                    .doFinally(signal -> close(parser));
+        });
+    }
+
+    private JsonParser createParser() {
+        try {
+            return jsonFactory.createNonBlockingByteBufferParser();
+        } catch (IOException e) {
+            throw new DecodingException("Could not create JSON parser", e);
+        }
+    }
+
+    private void feed(ByteBufferFeeder feeder, ByteBuffer chunk) {
+        try {
+            feeder.feedInput(chunk);
+        } catch (IOException e) {
+            throw new DecodingException("Could not read OMDb response", e);
+        }
+    }
+
+    // Hands every complete token to the handler, stops once the parser needs more input
+    private void drain(JsonParser parser, TokenHandler<?> handler) {
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handler.onToken(token, parser);
+            }
+        } catch (IOException e) {
+            throw new DecodingException("Malformed OMDb response: " + e.getMessage(), e);
+        }
+    }
+
+    private void close(JsonParser parser) {
+        try {
+            parser.close();
+        } catch (IOException ignored) {
+            // Nothing is held beyond the parser's own buffers
+        }
+    }
+
+    private static String clean(String value) {
+        return value != null ? value.trim() : null;
+    }
+
+    private static MovieType toMovieType(String value) {
+        for (MovieType type : MovieType.values()) {
+            if (type.name().equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    // Tracks nesting depth and the current field name, subclasses place scalar values
+    private abstract static class TokenHandler<T> {
+
+        protected int depth;
+        protected String field;
+
+        void onToken(JsonToken token, JsonParser parser) throws IOException {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    onStart(token);
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    onEnd(token);
+                    depth--;
+                }
+                case FIELD_NAME -> field = parser.currentName();
+                case VALUE_NULL -> onValue(null);
+                default -> onValue(clean(parser.getText()));
+            }
+        }
+
+        void onStart(JsonToken token) {
+        }
+
+        void onEnd(JsonToken token) {
+        }
+
+        abstract void onValue(String value);
+
+        protected <D> void set(Map<String, BiConsumer<D, String>> fields, D target, String value) {
+            BiConsumer<D, String> setter = fields.get(field);
+            if (setter != null) {
+                setter.accept(target, value);
+            }
+        }
+
+        abstract T result();
+    }
+
+    private static final class SearchHandler extends TokenHandler<MovieSearchResponseDto> {
+
+        private final MovieSearchResponseDto response = new MovieSearchResponseDto();
+        private List<MovieListItemDto> items;
+        private MovieListItemDto item;
+
+        @Override
+        void onStart(JsonToken token) {
+            if (token == JsonToken.START_ARRAY && depth == 2 && "Search".equals(field)) {
+                items = new ArrayList<>();
+                response.setSearch(items);
+            } else if (token == JsonToken.START_OBJECT && depth == 3 && items != null) {
+                item = new MovieListItemDto();
+            }
+        }
+
+        @Override
+        void onEnd(JsonToken token) {
+            if (depth == 3 && item != null) {
+                if (isValid(item)) {
+                    items.add(item);
+                }
+                item = null;
+            } else if (depth == 2) {
+                items = null;
+            }
+        }
+
+        @Override
+        void onValue(String value) {
+            if (depth == 1) {
+                set(SEARCH_FIELDS, response, value);
+            } else if (depth == 3 && item != null) {
+                set(ITEM_FIELDS, item, value);
+            }
+        }
+
+        @Override
+        MovieSearchResponseDto result() {
+            return response;
+        }
+
+        private boolean isValid(MovieListItemDto item) {
+            return item.getImdbID() != null && !item.getImdbID().isEmpty()
+                    && item.getTitle() != null && !item.getTitle().isEmpty();
+        }
+    }
+
+    private static final class DetailHandler extends TokenHandler<MovieDetailDto> {
+
+        private final MovieDetailDto detail = new MovieDetailDto();
+
+        @Override
+        void onValue(String value) {
+            // Nested values (the Ratings array) are not part of our model
+            if (depth == 1) {
+                set(DETAIL_FIELDS, detail, value);
+            }
+        }
+
+        @Override
+        MovieDetailDto result() {
+            return detail;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+/**
+ * Priority classes for OMDb calls when the quota runs low. A class may only spend the
+ * tokens left above the reserve it must leave for the classes ahead of it.
+ */
+public enum OmdbPriority {
+    // A user is waiting on a movie's details
+    INTERACTIVE,
+    // A user is waiting on a search page
+    SEARCH,
+    // Next-page prefetches and refreshes of stale entries
+    BACKGROUND
+}
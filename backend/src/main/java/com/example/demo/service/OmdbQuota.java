@@ -0,0 +1,83 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Spends the OMDb call budget by priority. Searches must leave a reserve of tokens for
+ * detail fetches and background work must leave a larger one, so when the quota runs low
+ * the calls users are waiting on are the last to be refused.
+ */
+@Component
+public class OmdbQuota {
+
+    private final OmdbTokenBucket tokenBucket;
+
+    private final boolean enabled;
+
+    private final Map<OmdbPriority, Double> reserves = new EnumMap<>(OmdbPriority.class);
+    private final Map<OmdbPriority, Counter> granted = new EnumMap<>(OmdbPriority.class);
+    private final Map<OmdbPriority, Counter> rejected = new EnumMap<>(OmdbPriority.class);
+
+    public OmdbQuota(OmdbTokenBucket tokenBucket,
+                     MeterRegistry meterRegistry,
+                     @Value("${omdb.rate-limit.enabled:true}") boolean enabled,
+                     @Value("${omdb.rate-limit.search-reserve:0.2}") double searchReserve,
+                     @Value("${omdb.rate-limit.background-reserve:0.5}") double backgroundReserve) {
+        this.tokenBucket = tokenBucket;
+        this.enabled = enabled;
+
+        reserves.put(OmdbPriority.INTERACTIVE, 0.0);
+        reserves.put(OmdbPriority.SEARCH, searchReserve);
+        reserves.put(OmdbPriority.BACKGROUND, backgroundReserve);
+
+        for (OmdbPriority priority : OmdbPriority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ROOT);
+            granted.put(priority, Counter.builder("omdb.quota.calls")
+                    .description("OMDb calls checked against the quota")
+                    .tag("priority", tag)
+                    .tag("outcome", "granted")
+                    .register(meterRegistry));
+            rejected.put(priority, Counter.builder("omdb.quota.calls")
+                    .description("OMDb calls checked against the quota")
+                    .tag("priority", tag)
+                    .tag("outcome", "rejected")
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("omdb.quota.available.tokens", tokenBucket, OmdbTokenBucket::availableTokens)
+                .description("OMDb calls left in the token bucket")
+                .register(meterRegistry);
+        Gauge.builder("omdb.quota.capacity.tokens", tokenBucket, OmdbTokenBucket::capacity)
+                .description("Burst capacity of the OMDb token bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes once a token was taken for the call, or errors with
+     * {@link OmdbQuotaExceededException} when its priority class has none left.
+     */
+    public Mono<Void> acquire(OmdbPriority priority) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+
+        return tokenBucket.tryTake(reserves.get(priority))
+                .flatMap(taken -> {
+                    if (!taken) {
+                        rejected.get(priority).increment();
+                        return Mono.error(new OmdbQuotaExceededException(priority));
+                    }
+                    granted.get(priority).increment();
+                    return Mono.empty();
+                });
+    }
+}
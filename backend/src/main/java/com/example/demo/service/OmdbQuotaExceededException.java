@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+/**
+ * Raised instead of calling OMDb when the shared quota has no token left for the call's
+ * priority class. Callers fall back to whatever cached data they hold.
+ */
+public class OmdbQuotaExceededException extends RuntimeException {
+
+    public OmdbQuotaExceededException(OmdbPriority priority) {
+        super("OMDb quota exhausted for " + priority + " calls");
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.demo.service;
+
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Decides which failed OMDb calls are worth another attempt: connection and read failures,
+ * timeouts and 5xx answers. OMDb calls are plain GETs, so repeating them is always safe.
+ * Rejections by the circuit breaker or bulkhead are never retried.
+ */
+public class OmdbRetryPredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+}
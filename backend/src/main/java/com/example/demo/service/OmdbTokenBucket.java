@@ -0,0 +1,21 @@
+package com.example.demo.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token bucket holding the OMDb call budget: refilled at the daily quota's rate and capped
+ * at a burst capacity. Implementations differ in where the bucket state lives.
+ */
+public interface OmdbTokenBucket {
+
+    /**
+     * Takes one token if at least {@code reserve} tokens (a fraction of the capacity) remain
+     * afterwards. Emits whether the token was taken.
+     */
+    Mono<Boolean> tryTake(double reserve);
+
+    // Tokens left as last seen by this instance
+    double availableTokens();
+
+    double capacity();
+}
@@ -0,0 +1,119 @@
+package com.example.demo.service;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts between OMDb's display strings ("1999–2003", "136 min", "8.7", "Drama, Sci-Fi")
+ * and the typed columns they are stored in. Anything that doesn't parse is stored as null
+ * and rendered back as "N/A", which is what OMDb sends for a missing value.
+ */
+public final class OmdbValues {
+
+    public static final String NOT_AVAILABLE = "N/A";
+
+    // OMDb separates year ranges with an en dash, accept a plain hyphen too
+    private static final Pattern YEAR = Pattern.compile("(\\d{4})\\s*(?:([–-])\\s*(\\d{4})?)?");
+    private static final Pattern RUNTIME = Pattern.compile("(\\d{1,5})\\s*min");
+    private static final Pattern RATING = Pattern.compile("(\\d{1,2})(?:\\.(\\d))?");
+    private static final Pattern LIST_SEPARATOR = Pattern.compile("\\s*,\\s*");
+
+    private OmdbValues() {
+    }
+
+    // First and last year; a single year has both set, a running series has no end
+    public record YearRange(Short start, Short end) {
+
+        static final YearRange UNKNOWN = new YearRange(null, null);
+    }
+
+    public static YearRange parseYear(String value) {
+        if (value == null) {
+            return YearRange.UNKNOWN;
+        }
+        Matcher matcher = YEAR.matcher(value.trim());
+        if (!matcher.matches()) {
+            return YearRange.UNKNOWN;
+        }
+        Short start = Short.valueOf(matcher.group(1));
+        if (matcher.group(2) == null) {
+            return new YearRange(start, start);
+        }
+        return new YearRange(start, matcher.group(3) != null ? Short.valueOf(matcher.group(3)) : null);
+    }
+
+    public static String formatYear(Short start, Short end) {
+        if (start == null) {
+            return NOT_AVAILABLE;
+        }
+        if (end == null) {
+            return start + "–";
+        }
+        return start.equals(end) ? start.toString() : start + "–" + end;
+    }
+
+    public static Short parseRuntime(String value) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = RUNTIME.matcher(value.trim());
+        return matcher.matches() ? toShort(matcher.group(1)) : null;
+    }
+
+    public static String formatRuntime(Short minutes) {
+        return minutes != null ? minutes + " min" : NOT_AVAILABLE;
+    }
+
+    // "8.7" is stored as 87, so ratings compare and sort as plain integers
+    public static Short parseRating(String value) {
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = RATING.matcher(value.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        int tenths = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+        return (short) (Integer.parseInt(matcher.group(1)) * 10 + tenths);
+    }
+
+    public static String formatRating(Short ratingX10) {
+        return ratingX10 != null ? ratingX10 / 10 + "." + ratingX10 % 10 : NOT_AVAILABLE;
+    }
+
+    public static String[] parseList(String value) {
+        if (value == null || value.isBlank() || NOT_AVAILABLE.equals(value.trim())) {
+            return null;
+        }
+        return Arrays.stream(LIST_SEPARATOR.split(value.trim()))
+                .filter(item -> !item.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    public static String formatList(String[] values) {
+        return values != null && values.length > 0 ? String.join(", ", values) : NOT_AVAILABLE;
+    }
+
+    // OMDb sends the total as a string, "1,234" on occasion
+    public static Integer parseCount(String value) {
+        if (value == null) {
+            return null;
+        }
+        String digits = value.replace(",", "").trim();
+        try {
+            return digits.isEmpty() ? null : Integer.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public static String formatCount(Integer count) {
+        return count != null ? count.toString() : null;
+    }
+
+    private static Short toShort(String digits) {
+        int value = Integer.parseInt(digits);
+        return value <= Short.MAX_VALUE ? (short) value : null;
+    }
+}
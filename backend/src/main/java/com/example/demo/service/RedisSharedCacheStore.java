@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Shared tier in Redis: entries are plain string values with a TTL, invalidations go out
+ * on a pub/sub channel. Connection settings come from the spring.data.redis.* properties.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.shared.store", havingValue = "redis")
+public class RedisSharedCacheStore implements SharedCacheStore, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisSharedCacheStore.class);
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    @Value("${cache.shared.redis.key-prefix:movies:}")
+    private String keyPrefix;
+
+    @Value("${cache.shared.redis.channel:movies:invalidations}")
+    private String channel;
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private Disposable subscription;
+
+    @Override
+    public Mono<String> get(String key) {
+        return redisTemplate.opsForValue().get(keyPrefix + key);
+    }
+
+    @Override
+    public Mono<Void> put(String key, String value, Duration ttl) {
+        return redisTemplate.opsForValue().set(keyPrefix + key, value, ttl).then();
+    }
+
+    @Override
+    public Mono<Void> evict(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(keys.stream().map(key -> keyPrefix + key).toArray(String[]::new)).then();
+    }
+
+    @Override
+    public Mono<Void> broadcast(String message) {
+        return redisTemplate.convertAndSend(channel, message).then();
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+        if (subscription == null) {
+            // Keep listening through Redis restarts, messages sent meanwhile are lost and the
+            // near-caches' short TTLs bound how long a missed invalidation is served
+            subscription = redisTemplate.listenToChannel(channel)
+                    .doOnError(e -> log.warn("Lost the cache invalidation channel, resubscribing: {}", e.toString()))
+                    .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                    .subscribe(message -> listeners.forEach(each -> each.accept(message.getMessage())));
+        }
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
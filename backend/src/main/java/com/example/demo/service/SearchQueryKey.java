@@ -0,0 +1,28 @@
+package com.example.demo.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical key of one page of a search, used for cache lookups, request coalescing and
+ * the stored search_queries rows. "Batman", "batman " and "BATMAN" share one key.
+ */
+public record SearchQueryKey(String searchText, int page) {
+
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\p{Z}]+");
+
+    public static SearchQueryKey of(String searchText, int page) {
+        return new SearchQueryKey(canonicalize(searchText), page);
+    }
+
+    // Keep in sync with the canonical form used by migration V4__merge_duplicate_search_queries
+    public static String canonicalize(String searchText) {
+        String normalized = Normalizer.normalize(searchText, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    public SearchQueryKey next() {
+        return new SearchQueryKey(searchText, page + 1);
+    }
+}
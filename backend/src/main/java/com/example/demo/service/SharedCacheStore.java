@@ -0,0 +1,27 @@
+package com.example.demo.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Key-value store shared by all backend replicas, holding serialized search pages and movie
+ * details, plus a broadcast channel the replicas use to drop each other's near-cache entries.
+ * Implementations differ in where the entries live.
+ */
+public interface SharedCacheStore {
+
+    // Emits nothing when the key is absent or expired
+    Mono<String> get(String key);
+
+    Mono<Void> put(String key, String value, Duration ttl);
+
+    Mono<Void> evict(Collection<String> keys);
+
+    // Delivers the message to every subscriber on every node, the sender's included
+    Mono<Void> broadcast(String message);
+
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,214 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache tier shared by the backend replicas, between each replica's in-process near-caches
+ * and Postgres. Only fresh search pages and movie details are stored, each until its
+ * freshness window ends. Entries filled from Postgres are written quietly; entries replaced
+ * with new OMDb data, and evictions, are broadcast so the other replicas drop their
+ * near-cache copy. The tier is best effort: when the store is slow or down, lookups miss
+ * and writes are skipped.
+ */
+@Component
+public class SharedMovieCache implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SharedMovieCache.class);
+
+    private static final String DETAILS_PREFIX = "details:";
+    private static final String SEARCH_PREFIX = "search:";
+
+    @Autowired
+    private SharedCacheStore store;
+
+    @Autowired
+    private MovieDetailCache movieDetailCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${cache.shared.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.shared.timeout:200ms}")
+    private Duration timeout;
+
+    private final Cache searchPages;
+
+    private final Lookups searchLookups;
+    private final Lookups detailLookups;
+
+    // Lets a replica skip its own invalidation messages
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public SharedMovieCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.searchPages = cacheManager.getCache(CacheConfig.SEARCH_PAGES);
+        this.searchLookups = new Lookups(meterRegistry, "search");
+        this.detailLookups = new Lookups(meterRegistry, "details");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            store.subscribe(this::onInvalidation);
+        }
+    }
+
+    // Null when this replica holds no copy of the page
+    public MovieSearchResponseDto getNearSearch(SearchQueryKey key) {
+        return searchPages.get(key, MovieSearchResponseDto.class);
+    }
+
+    // Callers check the near-cache first; a shared hit is kept in the near-cache
+    public Mono<MovieSearchResponseDto> getSearch(SearchQueryKey key) {
+        return read(searchKey(key), MovieSearchResponseDto.class, searchLookups)
+                .doOnNext(response -> searchPages.put(key, response));
+    }
+
+    // A page read from Postgres, the other replicas hold the same one or none
+    public void cacheSearch(SearchQueryKey key, MovieSearchResponseDto response, Duration ttl) {
+        searchPages.put(key, response);
+        write(searchKey(key), response, ttl, false);
+    }
+
+    // A page just fetched from OMDb, copies elsewhere may be outdated
+    public void replaceSearch(SearchQueryKey key, MovieSearchResponseDto response, Duration ttl) {
+        searchPages.put(key, response);
+        write(searchKey(key), response, ttl, true);
+    }
+
+    // The near-cache itself is MovieDetailCache, callers check it before coming here
+    public Mono<MovieDetailDto> getMovieDetails(String imdbId) {
+        return read(DETAILS_PREFIX + imdbId, MovieDetailDto.class, detailLookups)
+                .doOnNext(movieDetail -> movieDetailCache.put(imdbId, movieDetail));
+    }
+
+    public void cacheMovieDetails(String imdbId, MovieDetailDto movieDetail, Duration ttl) {
+        movieDetailCache.put(imdbId, movieDetail);
+        write(DETAILS_PREFIX + imdbId, movieDetail, ttl, false);
+    }
+
+    public void replaceMovieDetails(String imdbId, MovieDetailDto movieDetail, Duration ttl) {
+        movieDetailCache.put(imdbId, movieDetail);
+        write(DETAILS_PREFIX + imdbId, movieDetail, ttl, true);
+    }
+
+    public void evictMovieDetails(Collection<String> imdbIds) {
+        if (imdbIds.isEmpty()) {
+            return;
+        }
+        imdbIds.forEach(movieDetailCache::evict);
+        if (!enabled) {
+            return;
+        }
+
+        List<String> keys = imdbIds.stream().map(imdbId -> DETAILS_PREFIX + imdbId).toList();
+        store.evict(keys)
+                .then(broadcast(keys))
+                .timeout(timeout)
+                .subscribe(null, e -> log.debug("Shared cache eviction of {} failed: {}", imdbIds, e.toString()));
+    }
+
+    private <T> Mono<T> read(String key, Class<T> type, Lookups lookups) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return store.get(key)
+                .timeout(timeout)
+                .map(json -> decode(json, type))
+                .doOnSuccess(value -> (value != null ? lookups.hit : lookups.miss).increment())
+                .onErrorResume(e -> {
+                    lookups.error.increment();
+                    log.debug("Shared cache read of {} failed, treating it as a miss: {}", key, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private void write(String key, Object value, Duration ttl, boolean replaced) {
+        if (!enabled || ttl.isZero() || ttl.isNegative()) {
+            return;
+        }
+        Mono.fromCallable(() -> objectMapper.writeValueAsString(value))
+                .flatMap(json -> store.put(key, json, ttl))
+                .then(replaced ? broadcast(List.of(key)) : Mono.empty())
+                .timeout(timeout)
+                .subscribe(null, e -> log.debug("Shared cache write of {} failed: {}", key, e.toString()));
+    }
+
+    // "<node id>\n<key>\n<key>...", search keys are whitespace-normalized so never contain a newline
+    private Mono<Void> broadcast(List<String> keys) {
+        return store.broadcast(nodeId + "\n" + String.join("\n", keys));
+    }
+
+    private void onInvalidation(String message) {
+        List<String> parts = Arrays.asList(message.split("\n"));
+        if (parts.isEmpty() || nodeId.equals(parts.get(0))) {
+            return;
+        }
+        for (String key : parts.subList(1, parts.size())) {
+            if (key.startsWith(DETAILS_PREFIX)) {
+                movieDetailCache.evict(key.substring(DETAILS_PREFIX.length()));
+            } else if (key.startsWith(SEARCH_PREFIX)) {
+                searchPages.evict(parseSearchKey(key));
+            }
+        }
+    }
+
+    // "search:2:the matrix"
+    static String searchKey(SearchQueryKey key) {
+        return SEARCH_PREFIX + key.page() + ":" + key.searchText();
+    }
+
+    static SearchQueryKey parseSearchKey(String key) {
+        int separator = key.indexOf(':', SEARCH_PREFIX.length());
+        return new SearchQueryKey(key.substring(separator + 1),
+                Integer.parseInt(key.substring(SEARCH_PREFIX.length(), separator)));
+    }
+
+    private <T> T decode(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable shared cache entry", e);
+        }
+    }
+
+    // Reads of the shared store by result, the near-caches report through cache.gets
+    private record Lookups(Counter hit, Counter miss, Counter error) {
+
+        Lookups(MeterRegistry meterRegistry, String type) {
+            this(lookups(meterRegistry, type, "hit"),
+                    lookups(meterRegistry, type, "miss"),
+                    lookups(meterRegistry, type, "error"));
+        }
+
+        private static Counter lookups(MeterRegistry meterRegistry, String type, String result) {
+            return Counter.builder("cache.shared.gets")
+                    .description("Reads of the shared cache tier")
+                    .tag("type", type)
+                    .tag("result", result)
+                    .register(meterRegistry);
+        }
+    }
+}
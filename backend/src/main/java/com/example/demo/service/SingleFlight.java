@@ -0,0 +1,37 @@
+package com.example.demo.service;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-key in-flight registry: concurrent callers asking for the same key share a single
+ * execution of the loader instead of each running their own.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+
+            if (existing != null) {
+                // Someone else is already loading this key, wait for their result
+                return Mono.fromFuture(existing, true);
+            }
+
+            // The load runs to completion even if the caller that started it goes away,
+            // so its waiters still get a result and the fetched data still gets stored
+            loader.get()
+                    .doFinally(signal -> inFlight.remove(key, created))
+                    .subscribe(created::complete, created::completeExceptionally, () -> created.complete(null));
+
+            return Mono.fromFuture(created, true);
+        });
+    }
+}
@@ -0,0 +1,9 @@
+-- Browsing by genre matches regardless of case (?genre=action finds "Action") while the
+-- stored genres keep OMDb's spelling for display. The filter compares lowercased arrays,
+-- so the GIN index is on the lowercased genres and replaces the one on the raw column.
+CREATE OR REPLACE FUNCTION lower_elements(elements TEXT[]) RETURNS TEXT[]
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+    AS $$ SELECT array_agg(lower(element)) FROM unnest(elements) AS element $$;
+
+CREATE INDEX IF NOT EXISTS idx_movies_genres_lower ON movies USING GIN (lower_elements(genres));
+DROP INDEX IF EXISTS idx_movies_genres;
@@ -0,0 +1,15 @@
+-- search_queries and search_results switch from IDENTITY to pooled sequences so that
+-- Hibernate can batch their inserts. Start the sequences past any existing ids.
+CREATE SEQUENCE IF NOT EXISTS search_queries_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS search_results_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF to_regclass('search_queries') IS NOT NULL THEN
+        PERFORM setval('search_queries_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM search_queries));
+    END IF;
+
+    IF to_regclass('search_results') IS NOT NULL THEN
+        PERFORM setval('search_results_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM search_results));
+    END IF;
+END $$;
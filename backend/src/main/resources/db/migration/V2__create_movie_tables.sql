@@ -0,0 +1,32 @@
+-- Create the tables up front on an empty database, so that later migrations can rely on
+-- them existing. Databases whose tables Hibernate already created are left as they are.
+CREATE TABLE IF NOT EXISTS movies (
+    imdb_id     VARCHAR(255) NOT NULL PRIMARY KEY,
+    title       VARCHAR(255) NOT NULL,
+    year        VARCHAR(255),
+    type        VARCHAR(255) CHECK (type IN ('movie', 'series', 'episode', 'game')),
+    poster      VARCHAR(1000),
+    plot        TEXT,
+    director    VARCHAR(255),
+    actors      TEXT,
+    runtime     VARCHAR(255),
+    genre       VARCHAR(255),
+    imdb_rating VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS search_queries (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    search_text   VARCHAR(255) NOT NULL UNIQUE,
+    total_results VARCHAR(255),
+    response      BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6),
+    updated_at    TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS search_results (
+    id              BIGINT NOT NULL PRIMARY KEY,
+    search_query_id BIGINT REFERENCES search_queries (id),
+    imdb_id         VARCHAR(255) REFERENCES movies (imdb_id)
+);
@@ -0,0 +1,9 @@
+-- Local title search: whole-word and prefix matches go through the full-text index,
+-- partial (infix) matches and similarity ranking through the trigram index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_movies_title_tsv
+    ON movies USING GIN (to_tsvector('simple', title));
+
+CREATE INDEX IF NOT EXISTS idx_movies_title_trgm
+    ON movies USING GIN (lower(title) gin_trgm_ops);
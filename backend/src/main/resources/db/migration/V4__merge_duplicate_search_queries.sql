@@ -0,0 +1,23 @@
+-- Search texts are now stored in canonical form (NFKC, lower case, single spaces, trimmed),
+-- see SearchQueryKey. Merge the rows that only differed by case or whitespace into the
+-- oldest one and rewrite the survivors' search_text to the canonical form.
+CREATE TEMPORARY TABLE search_query_keys ON COMMIT DROP AS
+SELECT id,
+       btrim(regexp_replace(lower(normalize(search_text, NFKC)), '\s+', ' ', 'g')) AS search_key,
+       min(id) OVER (
+           PARTITION BY btrim(regexp_replace(lower(normalize(search_text, NFKC)), '\s+', ' ', 'g'))
+       ) AS survivor_id
+FROM search_queries;
+
+DELETE FROM search_results
+WHERE search_query_id IN (SELECT id FROM search_query_keys WHERE id <> survivor_id);
+
+DELETE FROM search_queries
+WHERE id IN (SELECT id FROM search_query_keys WHERE id <> survivor_id);
+
+UPDATE search_queries sq
+SET search_text = k.search_key,
+    updated_at  = now()
+FROM search_query_keys k
+WHERE sq.id = k.id
+  AND sq.search_text <> k.search_key;
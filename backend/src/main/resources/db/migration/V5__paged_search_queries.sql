@@ -0,0 +1,37 @@
+-- Searches are cached per (search text, page) and keep OMDb's order within a page.
+ALTER TABLE search_queries ADD COLUMN IF NOT EXISTS page INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE search_results ADD COLUMN IF NOT EXISTS position INTEGER;
+
+-- Existing rows were inserted in result order, so their ids give the position
+UPDATE search_results sr
+SET position = ranked.position
+FROM (
+    SELECT id, row_number() OVER (PARTITION BY search_query_id ORDER BY id) - 1 AS position
+    FROM search_results
+) ranked
+WHERE sr.id = ranked.id
+  AND sr.position IS NULL;
+
+-- Replace the unique search_text constraint, whose name depends on who created the table
+DO $$
+DECLARE
+    constraint_name TEXT;
+BEGIN
+    FOR constraint_name IN
+        SELECT c.conname
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY (c.conkey)
+        WHERE c.conrelid = 'search_queries'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname = 'search_text'
+    LOOP
+        EXECUTE format('ALTER TABLE search_queries DROP CONSTRAINT %I', constraint_name);
+    END LOOP;
+END $$;
+
+ALTER TABLE search_queries
+    ADD CONSTRAINT uk_search_queries_text_page UNIQUE (search_text, page);
+
+CREATE INDEX IF NOT EXISTS idx_search_results_query_position
+    ON search_results (search_query_id, position);
@@ -0,0 +1,6 @@
+-- Track when a movie's full details were last fetched, separately from updated_at which
+-- every search listing touches. Rows that already hold details count from their last update.
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS details_updated_at TIMESTAMP(6);
+
+UPDATE movies SET details_updated_at = coalesce(updated_at, created_at, now())
+WHERE plot IS NOT NULL AND details_updated_at IS NULL;
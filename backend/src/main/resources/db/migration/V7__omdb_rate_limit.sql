@@ -0,0 +1,6 @@
+-- Shared OMDb token bucket, one row per bucket. Tokens refill continuously from refilled_at.
+CREATE TABLE IF NOT EXISTS omdb_rate_limit (
+    bucket      VARCHAR(64)      NOT NULL PRIMARY KEY,
+    tokens      DOUBLE PRECISION NOT NULL,
+    refilled_at TIMESTAMPTZ      NOT NULL
+);
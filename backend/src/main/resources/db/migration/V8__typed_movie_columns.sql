@@ -0,0 +1,42 @@
+-- Store OMDb's display strings as typed values: a year range (no end while a series is
+-- running), runtime in minutes, the rating times ten, and genre/actor lists as arrays.
+-- Values that don't parse ("N/A" and the like) become NULL.
+ALTER TABLE movies
+    ADD COLUMN IF NOT EXISTS year_start SMALLINT,
+    ADD COLUMN IF NOT EXISTS year_end   SMALLINT;
+
+UPDATE movies SET
+    year_start = substring(year FROM '^\s*(\d{4})')::SMALLINT,
+    year_end = CASE
+        WHEN year ~ '^\s*\d{4}\s*$' THEN substring(year FROM '^\s*(\d{4})')::SMALLINT
+        ELSE substring(year FROM '^\s*\d{4}\s*[–-]\s*(\d{4})\s*$')::SMALLINT
+    END
+WHERE year IS NOT NULL;
+
+ALTER TABLE movies DROP COLUMN year;
+
+ALTER TABLE movies
+    ALTER COLUMN runtime TYPE SMALLINT
+        USING substring(runtime FROM '^\s*(\d{1,4})\s*min')::SMALLINT,
+    ALTER COLUMN imdb_rating TYPE SMALLINT
+        USING CASE WHEN imdb_rating ~ '^\s*\d{1,2}(\.\d)?\s*$'
+                   THEN round(btrim(imdb_rating)::NUMERIC * 10)::SMALLINT END,
+    ALTER COLUMN genre TYPE TEXT[]
+        USING CASE WHEN btrim(genre) NOT IN ('', 'N/A')
+                   THEN regexp_split_to_array(btrim(genre), '\s*,\s*') END,
+    ALTER COLUMN actors TYPE TEXT[]
+        USING CASE WHEN btrim(actors) NOT IN ('', 'N/A')
+                   THEN regexp_split_to_array(btrim(actors), '\s*,\s*') END;
+
+ALTER TABLE movies RENAME COLUMN runtime TO runtime_minutes;
+ALTER TABLE movies RENAME COLUMN imdb_rating TO imdb_rating_x10;
+ALTER TABLE movies RENAME COLUMN genre TO genres;
+
+-- Containment lookups: genres @> ARRAY['Drama'], actors @> ARRAY['Keanu Reeves']
+CREATE INDEX IF NOT EXISTS idx_movies_genres ON movies USING GIN (genres);
+CREATE INDEX IF NOT EXISTS idx_movies_actors ON movies USING GIN (actors);
+
+-- OMDb sends the total as a string, keep only its digits
+ALTER TABLE search_queries
+    ALTER COLUMN total_results TYPE INTEGER
+        USING NULLIF(regexp_replace(total_results, '\D', '', 'g'), '')::INTEGER;
@@ -0,0 +1,10 @@
+-- Catalog browsing (GET /api/movies) orders by one column with imdb_id as the tie-breaker
+-- and seeks with (column, imdb_id) > (?, ?). One index per sort, plus a variant led by
+-- type since most browsing filters on it; descending sorts scan these backwards.
+CREATE INDEX IF NOT EXISTS idx_movies_title_id ON movies (title, imdb_id);
+CREATE INDEX IF NOT EXISTS idx_movies_year_id ON movies (year_start, imdb_id);
+CREATE INDEX IF NOT EXISTS idx_movies_rating_id ON movies (imdb_rating_x10, imdb_id);
+
+CREATE INDEX IF NOT EXISTS idx_movies_type_title_id ON movies (type, title, imdb_id);
+CREATE INDEX IF NOT EXISTS idx_movies_type_year_id ON movies (type, year_start, imdb_id);
+CREATE INDEX IF NOT EXISTS idx_movies_type_rating_id ON movies (type, imdb_rating_x10, imdb_id);
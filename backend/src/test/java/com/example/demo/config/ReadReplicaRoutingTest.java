@@ -0,0 +1,132 @@
+package com.example.demo.config;
+
+import com.example.demo.EmbeddedPostgresDatabase;
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.MovieType;
+import com.example.demo.repository.MovieBrowseQuery;
+import com.example.demo.repository.MovieRepository;
+import com.example.demo.repository.MovieSort;
+import com.example.demo.repository.SearchQueryRepository;
+import com.example.demo.service.MovieCacheWriter;
+import com.example.demo.service.OmdbTokenBucket;
+import com.example.demo.service.SearchQueryKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The "replica" profile's two pools on one embedded database: read-only transactions have
+ * to land on the replica pool and everything else on the primary. Replica sessions reject
+ * writes, so a write routed there fails the test rather than passing unnoticed. Which pool
+ * served a call is read from Hikari's per-pool connection usage timer.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "cache.shared.enabled=false",
+        "search.prefetch-next-page=false",
+        "omdb.rate-limit.store=jdbc"})
+@ActiveProfiles("replica")
+class ReadReplicaRoutingTest {
+
+    private static final SearchQueryKey SEARCH_KEY = SearchQueryKey.of("replica routing", 1);
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        EmbeddedPostgresDatabase.register(registry);
+    }
+
+    @Autowired
+    private MovieCacheWriter movieCacheWriter;
+
+    @Autowired
+    private OmdbTokenBucket omdbTokenBucket;
+
+    @Autowired
+    private SearchQueryRepository searchQueryRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        movieCacheWriter.write(Map.of(SEARCH_KEY, searchPage()), Map.of("tt9000000", movieDetail("tt9000000")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("TRUNCATE movies, search_queries CASCADE");
+    }
+
+    @Test
+    void readOnlyRepositoryCallsUseTheReplica() {
+        long replicaUses = connectionUses("replica");
+        long primaryUses = connectionUses("primary");
+
+        assertThat(searchQueryRepository.findPageRows(SEARCH_KEY.searchText(), SEARCH_KEY.page())).hasSize(10);
+        assertThat(movieRepository.findById("tt9000000")).isPresent();
+        assertThat(movieRepository.browse(new MovieBrowseQuery(
+                null, null, null, null, null, MovieSort.TITLE, null, null, 20))).hasSize(10);
+
+        assertThat(connectionUses("replica")).isEqualTo(replicaUses + 3);
+        assertThat(connectionUses("primary")).isEqualTo(primaryUses);
+    }
+
+    @Test
+    void writesUseThePrimary() {
+        long replicaUses = connectionUses("replica");
+        long primaryUses = connectionUses("primary");
+
+        // Replacing a stored page and taking a quota token both write
+        movieCacheWriter.write(Map.of(SEARCH_KEY, searchPage()), Map.of("tt9000001", movieDetail("tt9000001")));
+        assertThat(omdbTokenBucket.tryTake(0).block()).isTrue();
+
+        assertThat(connectionUses("replica")).isEqualTo(replicaUses);
+        assertThat(connectionUses("primary")).isGreaterThanOrEqualTo(primaryUses + 2);
+    }
+
+    // A pool's meters only appear once it has handed out its first connection
+    private long connectionUses(String pool) {
+        Timer usage = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return usage != null ? usage.count() : 0;
+    }
+
+    private static MovieSearchResponseDto searchPage() {
+        List<MovieListItemDto> movies = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            movies.add(new MovieListItemDto("Replica Movie " + i, "2001", "tt900000" + i, MovieType.movie, "N/A"));
+        }
+        return new MovieSearchResponseDto(movies, "10", "True");
+    }
+
+    private static MovieDetailDto movieDetail(String imdbId) {
+        MovieDetailDto movieDetail = new MovieDetailDto();
+        movieDetail.setTitle("Replica Movie");
+        movieDetail.setYear("2001");
+        movieDetail.setImdbID(imdbId);
+        movieDetail.setType(MovieType.movie);
+        movieDetail.setGenre("Drama");
+        movieDetail.setResponse("True");
+        return movieDetail;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Movie;
+import com.example.demo.entity.MovieType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog browsing on a seeded catalog of a million movies, so the plans checked here are
+ * the ones the planner picks at scale, and a change to the generated SQL that loses its
+ * index shows up. The catalog is committed once for the class, outside the per-test
+ * transactions, and removed afterwards.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MovieRepositoryBrowseTest extends PostgresRepositoryTest {
+
+    private static final int MOVIES = 1_000_000;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private MovieRepositoryImpl movieRepositoryImpl;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seedCatalog() {
+        // Every fifth movie a series, years 1950-2019, ratings 1.0-9.9, one in a thousand a
+        // Western and one in a hundred thousand film noir
+        jdbcTemplate.update("""
+                INSERT INTO movies (imdb_id, title, year_start, year_end, type, imdb_rating_x10, genres)
+                SELECT 'tt' || lpad(i::text, 7, '0'),
+                       'Movie ' || md5(i::text),
+                       1950 + i % 70,
+                       1950 + i % 70,
+                       CASE WHEN i % 5 = 0 THEN 'series' ELSE 'movie' END,
+                       10 + i % 90,
+                       CASE WHEN i % 100000 = 0 THEN ARRAY['Film-Noir', 'Crime']
+                            WHEN i % 1000 = 0 THEN ARRAY['Western', 'Drama']
+                            ELSE ARRAY['Action', 'Sci-Fi'] END
+                FROM generate_series(1, ?) AS i
+                """, MOVIES);
+        jdbcTemplate.execute("ANALYZE movies");
+    }
+
+    @AfterAll
+    void removeCatalog() {
+        jdbcTemplate.execute("TRUNCATE movies CASCADE");
+    }
+
+    @Test
+    void browsesByTitleThroughItsIndex() {
+        String plan = plan(query(null, null, MovieSort.TITLE, null, null));
+
+        assertThat(plan).contains("Index Scan using idx_movies_title_id").doesNotContain("Sort");
+    }
+
+    @Test
+    void browsesATypeByYearThroughTheTypeIndex() {
+        String plan = plan(query(MovieType.series, null, MovieSort.YEAR, null, null));
+
+        assertThat(plan).contains("Index Scan Backward using idx_movies_type_year_id").doesNotContain("Sort");
+    }
+
+    @Test
+    void seeksPastThePreviousPageInTheIndex() {
+        String plan = plan(query(null, null, MovieSort.RATING, (short) 50, "tt0010000"));
+
+        assertThat(plan).contains("Index Scan Backward using idx_movies_rating_id")
+                .containsPattern("Index Cond: .*ROW\\(imdb_rating_x10, .*imdb_id.*\\) <")
+                .doesNotContain("Sort");
+    }
+
+    @Test
+    void filtersAGenreThroughTheGenreIndex() {
+        assertThat(plan(query(null, "western", MovieSort.TITLE, null, null)))
+                .contains("Bitmap Index Scan on idx_movies_genres_lower");
+        assertThat(plan(query(null, "film-noir", MovieSort.RATING, null, null)))
+                .contains("Bitmap Index Scan on idx_movies_genres_lower");
+    }
+
+    @Test
+    void matchesGenresRegardlessOfCase() {
+        List<Movie> movies = movieRepository.browse(query(null, "western", MovieSort.TITLE, null, null));
+
+        assertThat(movies).hasSize(21);
+        assertThat(movieRepository.browse(query(null, "WESTERN", MovieSort.TITLE, null, null)))
+                .extracting(Movie::getImdbID)
+                .containsExactlyElementsOf(movies.stream().map(Movie::getImdbID).toList());
+    }
+
+    @Test
+    void pagesFollowOnWithoutGapsOrRepeats() {
+        List<Movie> firstPage = movieRepository.browse(query(MovieType.series, null, MovieSort.YEAR, null, null));
+        Movie last = firstPage.get(firstPage.size() - 1);
+        List<Movie> secondPage = movieRepository.browse(
+                query(MovieType.series, null, MovieSort.YEAR, last.getYearStart(), last.getImdbID()));
+
+        List<Movie> bothPages = movieRepository.browse(new MovieBrowseQuery(
+                MovieType.series, null, null, null, null, MovieSort.YEAR, null, null, 42));
+        assertThat(firstPage.stream().map(Movie::getImdbID).toList())
+                .hasSize(21)
+                .containsExactlyElementsOf(bothPages.subList(0, 21).stream().map(Movie::getImdbID).toList());
+        assertThat(secondPage.stream().map(Movie::getImdbID).toList())
+                .containsExactlyElementsOf(bothPages.subList(21, 42).stream().map(Movie::getImdbID).toList());
+    }
+
+    private MovieBrowseQuery query(MovieType type, String genre, MovieSort sort, Object afterKey, String afterImdbId) {
+        return new MovieBrowseQuery(type, genre, null, null, null, sort, afterKey, afterImdbId, 21);
+    }
+
+    private String plan(MovieBrowseQuery query) {
+        MovieRepositoryImpl.BrowseStatement statement = movieRepositoryImpl.browseStatement(query);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + statement.sql(), String.class, statement.args()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local title search: prefix and infix matches, held to a minimum word similarity so that
+ * short searches don't match every title containing their letters.
+ */
+class MovieRepositorySearchTest extends PostgresRepositoryTest {
+
+    private static final double MIN_SIMILARITY = 0.6;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<String> titles = List.of("It", "It Follows", "Bandits", "The Italian Job", "Up", "Cupid",
+                "The Matrix", "The Matrix Reloaded", "The Matrix Revolutions", "Matrimony");
+        for (int i = 0; i < titles.size(); i++) {
+            jdbcTemplate.update("INSERT INTO movies (imdb_id, title, type) VALUES (?, ?, 'movie')", "tt000000" + i, titles.get(i));
+        }
+    }
+
+    @Test
+    void shortSearchesMatchWholeWordsOnly() {
+        assertThat(titles("it", "it:*")).containsExactlyInAnyOrder("It", "It Follows", "The Italian Job");
+        assertThat(titles("up", "up:*")).containsExactly("Up");
+    }
+
+    @Test
+    void matchesPrefixesAndInfixes() {
+        assertThat(titles("the matrix", "the:* & matrix:*"))
+                .containsExactly("The Matrix", "The Matrix Reloaded", "The Matrix Revolutions");
+        assertThat(titles("matr", "matr:*"))
+                .containsExactlyInAnyOrder("The Matrix", "The Matrix Reloaded", "The Matrix Revolutions", "Matrimony");
+        assertThat(titles("atrix", "atrix:*"))
+                .containsExactlyInAnyOrder("The Matrix", "The Matrix Reloaded", "The Matrix Revolutions");
+    }
+
+    @Test
+    void countsWhatItPages() {
+        assertThat(movieRepository.countByTitle("matr", "matr:*", "matr", MIN_SIMILARITY)).isEqualTo(4);
+        assertThat(movieRepository.searchByTitle("matr", "matr:*", "matr", MIN_SIMILARITY, 3, 3)).hasSize(1);
+    }
+
+    private List<String> titles(String searchText, String tsQuery) {
+        return movieRepository.searchByTitle(searchText, tsQuery, searchText, MIN_SIMILARITY, 10, 0).stream()
+                .map(Movie::getTitle)
+                .toList();
+    }
+}
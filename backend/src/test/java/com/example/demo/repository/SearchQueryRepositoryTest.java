@@ -0,0 +1,85 @@
+package com.example.demo.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchQueryRepositoryTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private SearchQueryRepository searchQueryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // A full page stored in reverse id order, and a page OMDb answered without results
+        jdbcTemplate.update("INSERT INTO search_queries (id, search_text, page, total_results, response) VALUES (1, 'the matrix', 1, 123, true)");
+        jdbcTemplate.update("INSERT INTO search_queries (id, search_text, page, total_results, response) VALUES (2, 'the matrix', 99, 123, false)");
+        for (int i = 0; i < 10; i++) {
+            jdbcTemplate.update("INSERT INTO movies (imdb_id, title, year_start, year_end, type) VALUES (?, ?, 1999, 2003, 'movie')",
+                    "tt013376" + i, "The Matrix Part " + i);
+            jdbcTemplate.update("INSERT INTO search_results (id, search_query_id, imdb_id, position) VALUES (?, 1, ?, ?)",
+                    i + 1, "tt013376" + i, 9 - i);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findPageRowsReadsAPageInOneStatementWithoutEntities() {
+        List<SearchPageRow> rows = searchQueryRepository.findPageRows("the matrix", 1);
+
+        assertThat(rows).extracting(SearchPageRow::imdbID)
+                .containsExactly("tt0133769", "tt0133768", "tt0133767", "tt0133766", "tt0133765",
+                        "tt0133764", "tt0133763", "tt0133762", "tt0133761", "tt0133760");
+        assertThat(rows).allSatisfy(row -> assertThat(row.totalResults()).isEqualTo(123));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void findPageRowsReusesTheQueryPlan() {
+        searchQueryRepository.findPageRows("the matrix", 1);
+        statistics.clear();
+
+        for (int i = 0; i < 5; i++) {
+            searchQueryRepository.findPageRows("the matrix", 1);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+        assertThat(statistics.getQueryPlanCacheMissCount()).isZero();
+    }
+
+    @Test
+    void findPageRowsKeepsAPageWithoutResults() {
+        List<SearchPageRow> rows = searchQueryRepository.findPageRows("the matrix", 99);
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.response()).isFalse();
+            assertThat(row.imdbID()).isNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findPageRowsFindsNothingForAPageNotStored() {
+        assertThat(searchQueryRepository.findPageRows("the matrix", 2)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.MovieDetailDto;
+import com.example.demo.dto.MovieListItemDto;
+import com.example.demo.dto.MovieSearchResponseDto;
+import com.example.demo.entity.MovieType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two replicas' caches over one store: what one replaces the other drops from its
+ * near-cache, and a store that fails or stalls only ever costs a miss.
+ */
+class SharedMovieCacheTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+    private static final Duration TIMEOUT = Duration.ofMillis(100);
+
+    private final LocalSharedCacheStore store = new LocalSharedCacheStore(100);
+
+    private Replica first;
+    private Replica second;
+
+    @BeforeEach
+    void setUp() {
+        first = new Replica(store);
+        second = new Replica(store);
+    }
+
+    @Test
+    void replacedDetailsAreDroppedFromTheOtherReplicasNearCache() {
+        first.cache.cacheMovieDetails("tt0133093", details("The Matrix"), TTL);
+        assertThat(second.cache.getMovieDetails("tt0133093").block()).isNotNull();
+        assertThat(second.movieDetailCache.get("tt0133093")).isNotNull();
+
+        first.cache.replaceMovieDetails("tt0133093", details("The Matrix (1999)"), TTL);
+
+        assertThat(second.movieDetailCache.get("tt0133093")).isNull();
+        assertThat(first.movieDetailCache.get("tt0133093").getTitle()).isEqualTo("The Matrix (1999)");
+        assertThat(second.cache.getMovieDetails("tt0133093").block().getTitle()).isEqualTo("The Matrix (1999)");
+    }
+
+    @Test
+    void replacedSearchPagesAreDroppedFromTheOtherReplicasNearCache() {
+        SearchQueryKey key = SearchQueryKey.of("The Matrix", 2);
+        first.cache.cacheSearch(key, page("The Matrix"), TTL);
+        assertThat(second.cache.getSearch(key).block()).isNotNull();
+        assertThat(second.cache.getNearSearch(key)).isNotNull();
+
+        first.cache.replaceSearch(key, page("The Matrix Reloaded"), TTL);
+
+        assertThat(second.cache.getNearSearch(key)).isNull();
+        assertThat(first.cache.getNearSearch(key).getSearch().get(0).getTitle()).isEqualTo("The Matrix Reloaded");
+    }
+
+    @Test
+    void evictionsAreDroppedFromEveryNearCache() {
+        first.cache.cacheMovieDetails("tt0133093", details("The Matrix"), TTL);
+        second.cache.getMovieDetails("tt0133093").block();
+
+        first.cache.evictMovieDetails(List.of("tt0133093"));
+
+        assertThat(first.movieDetailCache.get("tt0133093")).isNull();
+        assertThat(second.movieDetailCache.get("tt0133093")).isNull();
+        assertThat(store.get("details:tt0133093").block()).isNull();
+    }
+
+    @Test
+    void aReplicaIgnoresItsOwnInvalidations() {
+        List<String> messages = new ArrayList<>();
+        store.subscribe(messages::add);
+
+        first.cache.replaceMovieDetails("tt0133093", details("The Matrix"), TTL);
+
+        // The store delivers the message back to its sender, which keeps the copy it just wrote
+        assertThat(messages).hasSize(1);
+        assertThat(first.movieDetailCache.get("tt0133093").getTitle()).isEqualTo("The Matrix");
+    }
+
+    @Test
+    void searchKeysRoundTrip() {
+        for (SearchQueryKey key : List.of(
+                SearchQueryKey.of("The Matrix", 1),
+                SearchQueryKey.of("Star Wars: Episode IV", 12),
+                SearchQueryKey.of("  2001:  A Space   Odyssey ", 3))) {
+            assertThat(SharedMovieCache.parseSearchKey(SharedMovieCache.searchKey(key))).isEqualTo(key);
+        }
+    }
+
+    @Test
+    void aFailingStoreReadsAsAMiss() {
+        Replica replica = new Replica(new StubStore(Mono.error(new IllegalStateException("connection refused"))));
+
+        assertThat(replica.cache.getMovieDetails("tt0133093").block()).isNull();
+        assertThat(replica.cache.getSearch(SearchQueryKey.of("The Matrix", 1)).block()).isNull();
+        assertThat(replica.errors("details")).isEqualTo(1);
+        assertThat(replica.errors("search")).isEqualTo(1);
+    }
+
+    @Test
+    void aStoreSlowerThanTheTimeoutReadsAsAMiss() {
+        Replica replica = new Replica(new StubStore(Mono.<String>never()));
+
+        long started = System.nanoTime();
+        assertThat(replica.cache.getMovieDetails("tt0133093").block(Duration.ofSeconds(5))).isNull();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(1));
+        assertThat(replica.errors("details")).isEqualTo(1);
+    }
+
+    @Test
+    void aFailingStoreDoesNotFailWrites() {
+        Replica replica = new Replica(new StubStore(Mono.error(new IllegalStateException("connection refused"))));
+
+        replica.cache.replaceMovieDetails("tt0133093", details("The Matrix"), TTL);
+        replica.cache.evictMovieDetails(List.of("tt0133093"));
+
+        assertThat(replica.movieDetailCache.get("tt0133093")).isNull();
+    }
+
+    private static MovieDetailDto details(String title) {
+        MovieDetailDto movieDetail = new MovieDetailDto();
+        movieDetail.setImdbID("tt0133093");
+        movieDetail.setTitle(title);
+        return movieDetail;
+    }
+
+    private static MovieSearchResponseDto page(String title) {
+        return new MovieSearchResponseDto(
+                List.of(new MovieListItemDto(title, "1999", "tt0133093", MovieType.movie, "N/A")), "1", "True");
+    }
+
+    // One backend replica: its own near-caches and node id over the given store
+    private static final class Replica {
+
+        private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        private final MovieDetailCache movieDetailCache;
+        private final SharedMovieCache cache;
+
+        Replica(SharedCacheStore store) {
+            CacheManager cacheManager = new CaffeineCacheManager(CacheConfig.MOVIE_DETAILS, CacheConfig.SEARCH_PAGES);
+            movieDetailCache = new MovieDetailCache(cacheManager);
+            cache = new SharedMovieCache(cacheManager, meterRegistry);
+            ReflectionTestUtils.setField(cache, "store", store);
+            ReflectionTestUtils.setField(cache, "movieDetailCache", movieDetailCache);
+            ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+            ReflectionTestUtils.setField(cache, "enabled", true);
+            ReflectionTestUtils.setField(cache, "timeout", TIMEOUT);
+            cache.afterPropertiesSet();
+        }
+
+        double errors(String type) {
+            return meterRegistry.get("cache.shared.gets").tag("type", type).tag("result", "error").counter().count();
+        }
+    }
+
+    // Answers every operation with the given outcome
+    private record StubStore(Mono<String> outcome) implements SharedCacheStore {
+
+        @Override
+        public Mono<String> get(String key) {
+            return outcome;
+        }
+
+        @Override
+        public Mono<Void> put(String key, String value, Duration ttl) {
+            return outcome.then();
+        }
+
+        @Override
+        public Mono<Void> evict(Collection<String> keys) {
+            return outcome.then();
+        }
+
+        @Override
+        public Mono<Void> broadcast(String message) {
+            return outcome.then();
+        }
+
+        @Override
+        public void subscribe(Consumer<String> listener) {
+        }
+    }
+}